@@ -0,0 +1,72 @@
+package uiTestFramework.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import uiTestFramework.config.Config;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Config} lookups, which every wait and action does several of: the instance lookup through
+ * the test context, a raw property (system property first, then the file) and a typed getter,
+ * each alone and with 8 threads at once.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConfigBenchmark {
+
+    @Setup
+    public void setUp(){
+        StubEnvironment.use();
+        Config.getConfigInstance();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Config getConfigInstance(){
+        return Config.getConfigInstance();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Config getConfigInstanceContended(){
+        return Config.getConfigInstance();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String getPropertyOrDefault(){
+        return Config.getConfigInstance().getPropertyOrDefault("screenshotFormat", "jpg");
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String getPropertyOrDefaultContended(){
+        return Config.getConfigInstance().getPropertyOrDefault("screenshotFormat", "jpg");
+    }
+
+    @Benchmark
+    @Threads(1)
+    public int typedGetter(){
+        return Config.getConfigInstance().getTimeout();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public int typedGetterContended(){
+        return Config.getConfigInstance().getTimeout();
+    }
+}
@@ -0,0 +1,127 @@
+package uiTestFramework.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+import uiTestFramework.Utilities.FrameworkException;
+import uiTestFramework.Utilities.TestContext;
+import uiTestFramework.fixtures.FixtureServer;
+import uiTestFramework.fixtures.StubDriver;
+import uiTestFramework.selftest.FixturePage;
+import uiTestFramework.selftest.FixturePageV2;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per action overhead of {@code BasePage} and {@code BasePageV2} (waits, stale handling, exception
+ * mapping, metrics and logging) on the stub driver, where the driver itself costs microseconds.
+ * {@code actionLog=info} adds the log line every step writes outside trace mode; the missing
+ * element cases measure the failure path, which always logs.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PageActionBenchmark {
+
+    private static final By MESSAGE = By.id("message");
+    private static final By SUBMIT = By.id("submit");
+    private static final By USERNAME = By.id("username");
+    private static final By MISSING = By.id("missing");
+
+    @Param({"trace", "info"})
+    public String actionLog;
+
+    private FixtureServer server;
+    private StubDriver delayedPage;
+    private StubDriver formPage;
+    private FixturePage page;
+    private FixturePageV2 pageV2;
+    private FixturePage form;
+    private FixturePageV2 formV2;
+
+    @Setup
+    public void setUp(){
+        StubEnvironment.use();
+        System.setProperty("actionLog", actionLog);
+        server = FixtureServer.start();
+
+        delayedPage = new StubDriver();
+        delayedPage.get(server.url("/delayed?ms=0"));
+        page = new FixturePage(delayedPage);
+        pageV2 = new FixturePageV2(delayedPage);
+
+        formPage = new StubDriver();
+        formPage.get(server.url("/form"));
+        form = new FixturePage(formPage);
+        formV2 = new FixturePageV2(formPage);
+    }
+
+    @TearDown
+    public void tearDown(){
+        delayedPage.quit();
+        formPage.quit();
+        server.close();
+        TestContext.close();
+    }
+
+    @Benchmark
+    public String basePageGetText(){
+        return page.text(MESSAGE, "Message");
+    }
+
+    @Benchmark
+    public String basePageV2GetText(){
+        return pageV2.text(MESSAGE, "Message");
+    }
+
+    @Benchmark
+    public void basePageClick(){
+        page.click(SUBMIT, "Submit button");
+    }
+
+    @Benchmark
+    public void basePageV2Click(){
+        pageV2.click(SUBMIT, "Submit button");
+    }
+
+    @Benchmark
+    public void basePageEnterText(){
+        form.type(USERNAME, "Username", "admin");
+    }
+
+    @Benchmark
+    public void basePageV2EnterText(){
+        formV2.type(USERNAME, "Username", "admin");
+    }
+
+    @Benchmark
+    public Object basePageMissingElement(){
+        try {
+            return page.waitForVisibility(MISSING, "Missing");
+        } catch (FrameworkException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Object basePageV2MissingElement(){
+        try {
+            return pageV2.waitForVisibility(MISSING, "Missing");
+        } catch (FrameworkException e) {
+            return e;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package uiTestFramework.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.support.PageFactory;
+import uiTestFramework.PageObjects.OrangeHrmLoginPage;
+import uiTestFramework.fixtures.StubDriver;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of creating a page object: the whole {@link OrangeHrmLoginPage} constructor, and
+ * {@link PageFactory#initElements} alone, which wires a lazy proxy per {@code @FindBy} field.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PageFactoryBenchmark {
+
+    private StubDriver driver;
+    private OrangeHrmLoginPage page;
+
+    @Setup
+    public void setUp(){
+        StubEnvironment.use();
+        driver = new StubDriver();
+        page = new OrangeHrmLoginPage(driver);
+    }
+
+    @TearDown
+    public void tearDown(){
+        driver.quit();
+    }
+
+    @Benchmark
+    public OrangeHrmLoginPage newLoginPage(){
+        return new OrangeHrmLoginPage(driver);
+    }
+
+    @Benchmark
+    public OrangeHrmLoginPage initElements(){
+        PageFactory.initElements(driver, page);
+        return page;
+    }
+}
@@ -0,0 +1,48 @@
+package uiTestFramework.benchmarks;
+
+import com.aventstack.extentreports.Status;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import uiTestFramework.Utilities.TestContext;
+import uiTestFramework.extentReportManagers.ExtentTestManager;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What {@link ExtentTestManager} costs the test thread for one test: starting the record, logging
+ * to it and ending it, plus the test context teardown. No report is created, so ended records
+ * are dropped; merging them into the report is measured by {@link ReportingThroughputBenchmark}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReportLoggingBenchmark {
+
+    private static final String[][] TABLE = {{"Page", "Element", "Action"}, {"LoginPage", "Username", "Enter text"}};
+
+    @Param({"10", "100"})
+    public int logsPerTest;
+
+    @Benchmark
+    public void testWithLogs(){
+        ExtentTestManager.startTest("jmh");
+        for (int i = 0; i < logsPerTest; i++) {
+            ExtentTestManager.log(Status.INFO, "step");
+        }
+        ExtentTestManager.logTable(Status.INFO, TABLE);
+        ExtentTestManager.log(Status.PASS, "✔ Test Passed");
+        ExtentTestManager.endTest();
+        TestContext.close();
+    }
+}
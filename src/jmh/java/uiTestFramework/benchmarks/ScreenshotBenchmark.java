@@ -0,0 +1,79 @@
+package uiTestFramework.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import uiTestFramework.DriverManager.DriverManager;
+import uiTestFramework.Utilities.ScreenshotUtil;
+import uiTestFramework.fixtures.FixtureServer;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ScreenshotUtil#takeScreenShot(String)} end to end on a 1920x1080 stub frame: capture,
+ * decode, downscale to {@code screenshotMaxWidth}, re-encode to {@code screenshotFormat}, write and
+ * Base64 encode. Deduplication is off, every call encodes; the files are deleted after each iteration.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ScreenshotBenchmark {
+
+    @Param({"jpg", "png"})
+    public String screenshotFormat;
+
+    private FixtureServer server;
+    private final List<String> written = new ArrayList<>();
+    private int count;
+
+    @Setup
+    public void setUp(){
+        StubEnvironment.use();
+        System.setProperty("screenshotFormat", screenshotFormat);
+        System.setProperty("screenshotDedup", "false");
+        server = FixtureServer.start();
+        DriverManager.getDriver().get(server.url("/table?rows=20"));
+    }
+
+    @TearDown
+    public void tearDown(){
+        DriverManager.releaseDriver();
+        DriverManager.shutdown();
+        server.close();
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteScreenshots() throws IOException {
+        for (String path : written) {
+            Files.deleteIfExists(Path.of(path));
+        }
+        written.clear();
+    }
+
+    @Benchmark
+    public ScreenshotUtil.ScreenshotData takeScreenShot(){
+        ScreenshotUtil.ScreenshotData screenshot = ScreenshotUtil.takeScreenShot("jmh-" + count++);
+        if (screenshot.getPath() != null) {
+            written.add(screenshot.getPath());
+        }
+        return screenshot;
+    }
+}
@@ -0,0 +1,21 @@
+package uiTestFramework.benchmarks;
+
+/**
+ * Configuration shared by the JMH benchmarks: the stub driver instead of a browser and no learned
+ * or real timeouts, so a missing element fails on the first attempt and only the framework's own
+ * overhead is measured.
+ */
+final class StubEnvironment {
+
+    private StubEnvironment(){
+        //prevent instantiation
+    }
+
+    static void use(){
+        System.setProperty("browser", "stub");
+        System.setProperty("baseUrl", "about:blank");
+        System.setProperty("timeout", "0");
+        System.setProperty("learnedTimeout", "false");
+        System.setProperty("prewarmSessions", "false");
+    }
+}
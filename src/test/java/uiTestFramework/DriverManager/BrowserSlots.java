@@ -0,0 +1,86 @@
+package uiTestFramework.DriverManager;
+
+import com.sun.management.OperatingSystemMXBean;
+import org.apache.logging.log4j.Logger;
+import uiTestFramework.Utilities.FrameworkException;
+import uiTestFramework.Utilities.LoggerUtil;
+import uiTestFramework.config.Config;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Caps how many browsers are checked out at once, at {@code browserSlots} or, with {@code auto},
+ * at what the machine can host. A test blocks in {@link DriverManager#getDriver()} until a slot is
+ * free, so the number of test threads no longer has to be what limits concurrency.
+ */
+public final class BrowserSlots {
+
+    private static final Logger log = LoggerUtil.getLogger(BrowserSlots.class);
+
+    private static final int CAPACITY = configuredCapacity();
+    private static final Semaphore slots = new Semaphore(CAPACITY, true);
+
+    private BrowserSlots(){
+        //prevent instantiation
+    }
+
+    public static int capacity(){
+        return CAPACITY;
+    }
+
+    public static int available(){
+        return slots.availablePermits();
+    }
+
+    /**
+     * One browser per core, but no more than the memory outside the JVM heap can hold at
+     * {@code browserMemoryMb} each.
+     */
+    public static int capacityFor(long browserMemoryMb){
+        int cores = Runtime.getRuntime().availableProcessors();
+        long freeForBrowsers = physicalMemoryMb() - Runtime.getRuntime().maxMemory() / (1024 * 1024);
+        long byMemory = freeForBrowsers > 0 ? freeForBrowsers / Math.max(1, browserMemoryMb) : cores;
+        return (int) Math.max(1, Math.min(cores, byMemory));
+    }
+
+    /**
+     * Waits for a slot, calling {@code makeRoom} each time none has come free within {@code patience},
+     * so a caller can hand back a browser that holds a slot without being used.
+     */
+    static void acquire(Duration patience, BooleanSupplier makeRoom){
+        if (slots.tryAcquire()) {
+            return;
+        }
+        log.debug("All {} browser slot(s) taken, waiting for one", CAPACITY);
+        try {
+            while (!slots.tryAcquire(patience.toMillis(), TimeUnit.MILLISECONDS)) {
+                makeRoom.getAsBoolean();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new FrameworkException("Interrupted while waiting for a browser slot", e);
+        }
+    }
+
+    static void release(){
+        slots.release();
+    }
+
+    private static int configuredCapacity(){
+        Config config = Config.getConfigInstance();
+        String configured = config.getBrowserSlots();
+        int capacity = configured.equalsIgnoreCase("auto") ? capacityFor(config.getBrowserMemoryMb()) : Integer.parseInt(configured);
+        return Math.max(1, capacity);
+    }
+
+    private static long physicalMemoryMb(){
+        if (ManagementFactory.getOperatingSystemMXBean() instanceof OperatingSystemMXBean os) {
+            return os.getTotalMemorySize() / (1024 * 1024);
+        }
+        return Long.MAX_VALUE;
+    }
+}
@@ -0,0 +1,163 @@
+package uiTestFramework.DriverManager;
+
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import uiTestFramework.Utilities.FrameworkException;
+import uiTestFramework.Utilities.LoggerUtil;
+import uiTestFramework.config.Config;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Minimal Chrome user-data-dir that is prepared once and cloned for every session, so Chrome
+ * skips its first-run work (welcome page, default browser check, profile bootstrap).
+ * <p>
+ * Clones are made of hardlinks. That is safe because the template only holds files Chrome
+ * replaces atomically (write to temp, then rename) rather than modifying in place, so a
+ * session never writes through a link into the template or another clone.
+ */
+final class ChromeProfileTemplate {
+
+    private static final Logger log = LoggerUtil.getLogger(ChromeProfileTemplate.class);
+
+    /** Flags that switch off background work Chrome does on every fresh launch. */
+    static final List<String> FAST_START_ARGUMENTS = List.of(
+            "--no-first-run",
+            "--no-default-browser-check",
+            "--disable-extensions",
+            "--disable-component-update",
+            "--disable-background-networking",
+            "--disable-sync",
+            "--disable-default-apps",
+            "--disable-client-side-phishing-detection",
+            "--disable-domain-reliability",
+            "--metrics-recording-only",
+            "--no-service-autorun",
+            "--password-store=basic",
+            "--disable-features=Translate,OptimizationHints,MediaRouter");
+
+    private static final String LOCAL_STATE = """
+            {"browser":{"has_seen_welcome_page":true},"user_experience_metrics":{"reporting_enabled":false}}
+            """;
+
+    private static final String PREFERENCES = """
+            {"browser":{"has_seen_welcome_page":true,"check_default_browser":false},\
+            "profile":{"exit_type":"Normal","exited_cleanly":true},\
+            "credentials_enable_service":false,\
+            "translate":{"enabled":false},\
+            "safebrowsing":{"enabled":false}}
+            """;
+
+    private static final Map<WebDriver, Path> profiles = new ConcurrentHashMap<>();
+
+    private static Path template;
+
+    private ChromeProfileTemplate(){
+        //prevent instantiation
+    }
+
+    /**
+     * Returns a fresh user-data-dir cloned from the template, preparing the template on first use.
+     */
+    static Path newProfile(){
+        Path source = getTemplate();
+        Path clone = profilesDir().resolve(UUID.randomUUID().toString());
+        try (Stream<Path> files = Files.walk(source)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Path target = clone.resolve(source.relativize(file).toString());
+                if (Files.isDirectory(file)) {
+                    Files.createDirectories(target);
+                } else {
+                    link(file, target);
+                }
+            }
+        } catch (IOException e) {
+            throw new FrameworkException("Unable to clone Chrome profile template into " + clone, e);
+        }
+        return clone;
+    }
+
+    /**
+     * Remembers which cloned profile a browser runs on so it can be deleted when the browser quits.
+     */
+    static void attach(WebDriver driver, Path profile){
+        profiles.put(driver, profile);
+    }
+
+    /**
+     * Deletes the cloned profile of a browser that has quit.
+     */
+    static void release(WebDriver driver){
+        Path profile = profiles.remove(driver);
+        if (profile != null) {
+            deleteRecursively(profile);
+        }
+    }
+
+    /**
+     * Deletes the template and every cloned profile, to be called once no browser uses them anymore.
+     */
+    static synchronized void cleanUp(){
+        deleteRecursively(profilesDir());
+        template = null;
+    }
+
+    private static synchronized Path getTemplate(){
+        if (template == null) {
+            Path dir = profilesDir().resolve("template");
+            try {
+                deleteRecursively(dir);
+                Files.createDirectories(dir.resolve("Default"));
+                Files.createFile(dir.resolve("First Run"));
+                Files.writeString(dir.resolve("Local State"), LOCAL_STATE);
+                Files.writeString(dir.resolve("Default").resolve("Preferences"), PREFERENCES);
+            } catch (IOException e) {
+                throw new FrameworkException("Unable to prepare Chrome profile template in " + dir, e);
+            }
+            log.info("Chrome profile template prepared in {}", dir);
+            template = dir;
+        }
+        return template;
+    }
+
+    private static void link(Path source, Path target) throws IOException {
+        try {
+            Files.createLink(target, source);
+        } catch (IOException | UnsupportedOperationException e) {
+            // e.g. clone dir on another file system, the files are tiny so a copy is cheap too
+            Files.copy(source, target);
+        }
+    }
+
+    /**
+     * Profiles live in a directory per JVM so parallel runs on one host never share a template.
+     */
+    private static Path profilesDir(){
+        return Path.of(Config.getConfigInstance().getCacheDir(), "chrome-profiles", String.valueOf(ProcessHandle.current().pid()));
+    }
+
+    private static void deleteRecursively(Path dir){
+        if (!Files.exists(dir)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> {
+                try {
+                    Files.deleteIfExists(path);
+                } catch (IOException e) {
+                    System.err.println("Warn: Could not delete " + path + ": " + e.getMessage());
+                }
+            });
+        } catch (IOException e) {
+            System.err.println("Warn: Could not clean up " + dir + ": " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package uiTestFramework.DriverManager;
+
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.chromium.ChromiumOptions;
+import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.manager.SeleniumManagerOutput;
+import org.openqa.selenium.remote.service.DriverFinder;
+import org.openqa.selenium.remote.service.DriverService;
+import uiTestFramework.Utilities.LoggerUtil;
+import uiTestFramework.config.BrowserType;
+import uiTestFramework.config.Config;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves driver and browser binaries through Selenium Manager once per browser and version,
+ * keeps them for the rest of the JVM and persists them to {@code driver-binaries.properties}
+ * in the framework cache dir so later runs skip the resolution as well.
+ */
+final class DriverBinaryCache {
+
+    private static final Logger log = LoggerUtil.getLogger(DriverBinaryCache.class);
+
+    private static final String CACHE_FILE_NAME = "driver-binaries.properties";
+
+    private static final Map<String, Binaries> resolved = new ConcurrentHashMap<>();
+
+    private DriverBinaryCache(){
+        //prevent instantiation
+    }
+
+    /**
+     * Points the service at the cached driver executable and the options at the cached browser
+     * binary, resolving both first if they are not known yet.
+     */
+    static void apply(Config config, BrowserType browser, DriverService service, Capabilities options){
+        Binaries binaries = resolved.computeIfAbsent(key(browser, options), key -> load(config, key, service, options));
+
+        service.setExecutable(binaries.driverPath());
+        if (binaries.browserPath() != null && !binaries.browserPath().isEmpty()) {
+            if (options instanceof ChromiumOptions<?> chromiumOptions) {
+                chromiumOptions.setBinary(binaries.browserPath());
+            } else if (options instanceof FirefoxOptions firefoxOptions) {
+                firefoxOptions.setBinary(binaries.browserPath());
+            }
+        }
+    }
+
+    /**
+     * Forgets the binaries of a browser, e.g. after the browser was updated underneath a cached driver.
+     */
+    static void invalidate(Config config, BrowserType browser, Capabilities options){
+        String key = key(browser, options);
+        resolved.remove(key);
+        synchronized (DriverBinaryCache.class) {
+            Properties cache = readCacheFile(config);
+            cache.remove(key + ".driver");
+            cache.remove(key + ".browser");
+            cache.remove(key + ".resolvedAt");
+            writeCacheFile(config, cache);
+        }
+    }
+
+    private static Binaries load(Config config, String key, DriverService service, Capabilities options){
+        synchronized (DriverBinaryCache.class) {
+            Binaries cached = fromCacheFile(config, key);
+            if (cached != null) {
+                log.debug("Using cached driver binaries for {}: {}", key, cached.driverPath());
+                return cached;
+            }
+
+            long start = System.nanoTime();
+            SeleniumManagerOutput.Result result = DriverFinder.getPath(service, options);
+            Binaries binaries = new Binaries(result.getDriverPath(), result.getBrowserPath(), System.currentTimeMillis());
+            log.info("Resolved driver binaries for {} in {} ms: {}", key,
+                    Duration.ofNanos(System.nanoTime() - start).toMillis(), binaries.driverPath());
+
+            Properties cache = readCacheFile(config);
+            cache.setProperty(key + ".driver", binaries.driverPath());
+            cache.setProperty(key + ".browser", binaries.browserPath() == null ? "" : binaries.browserPath());
+            cache.setProperty(key + ".resolvedAt", String.valueOf(binaries.resolvedAt()));
+            writeCacheFile(config, cache);
+            return binaries;
+        }
+    }
+
+    private static Binaries fromCacheFile(Config config, String key){
+        Properties cache = readCacheFile(config);
+        String driverPath = cache.getProperty(key + ".driver");
+        String browserPath = cache.getProperty(key + ".browser", "");
+        long resolvedAt = Long.parseLong(cache.getProperty(key + ".resolvedAt", "0"));
+
+        long ttlMillis = Duration.ofHours(config.getDriverCacheTtlHours()).toMillis();
+        if (driverPath == null || System.currentTimeMillis() - resolvedAt > ttlMillis) {
+            return null;
+        }
+        if (!new File(driverPath).canExecute() || (!browserPath.isEmpty() && !new File(browserPath).exists())) {
+            return null;
+        }
+        return new Binaries(driverPath, browserPath, resolvedAt);
+    }
+
+    private static String key(BrowserType browser, Capabilities options){
+        String version = options.getBrowserVersion();
+        return browser.name().toLowerCase(Locale.ROOT) + "." + (version == null || version.isEmpty() ? "default" : version);
+    }
+
+    private static Path cacheFile(Config config){
+        return Path.of(config.getCacheDir(), CACHE_FILE_NAME);
+    }
+
+    private static Properties readCacheFile(Config config){
+        Properties cache = new Properties();
+        Path file = cacheFile(config);
+        if (Files.exists(file)) {
+            try (InputStream in = Files.newInputStream(file)) {
+                cache.load(in);
+            } catch (IOException e) {
+                System.err.println("Warn: Could not read driver cache " + file + ": " + e.getMessage());
+            }
+        }
+        return cache;
+    }
+
+    private static void writeCacheFile(Config config, Properties cache){
+        Path file = cacheFile(config);
+        try {
+            Files.createDirectories(file.getParent());
+            // Write to a temp file first so parallel JVMs never read a half written cache
+            Path temp = Files.createTempFile(file.getParent(), CACHE_FILE_NAME, ".tmp");
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                cache.store(out, "Selenium Manager resolution cache");
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("Warn: Could not write driver cache " + file + ": " + e.getMessage());
+        }
+    }
+
+    private record Binaries(String driverPath, String browserPath, long resolvedAt) {
+    }
+}
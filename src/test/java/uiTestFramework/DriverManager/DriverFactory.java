@@ -1,18 +1,36 @@
 package uiTestFramework.DriverManager;
 
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.SessionNotCreatedException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeDriverService;
 import org.openqa.selenium.chrome.ChromeOptions;
 import org.openqa.selenium.edge.EdgeDriver;
+import org.openqa.selenium.edge.EdgeDriverService;
+import org.openqa.selenium.edge.EdgeOptions;
 import org.openqa.selenium.firefox.FirefoxDriver;
+import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.firefox.GeckoDriverService;
+import org.openqa.selenium.remote.service.DriverService;
 import org.openqa.selenium.safari.SafariDriver;
 import uiTestFramework.config.BrowserType;
 import uiTestFramework.config.Config;
+import uiTestFramework.fixtures.StubDriver;
+
+import java.nio.file.Path;
+import java.util.function.Supplier;
 
 public class DriverFactory {
 
     public static WebDriver createInstance(){
-        Config config = Config.getConfigInstance();
+        return createInstance(Config.getConfigInstance());
+    }
+
+    /**
+     * Launches the browser {@code config} asks for, whichever thread calls it.
+     */
+    public static WebDriver createInstance(Config config){
         BrowserType browser = config.getBrowser();
 
         switch (browser){
@@ -20,20 +38,41 @@ public class DriverFactory {
             case CHROME -> {
 
                 ChromeOptions options = getChromeOptions(config);
+                Path profile = config.isChromeFastStartEnabled() ? ChromeProfileTemplate.newProfile() : null;
+                if (profile != null) {
+                    options.addArguments(ChromeProfileTemplate.FAST_START_ARGUMENTS);
+                    options.addArguments("--user-data-dir=" + profile.toAbsolutePath());
+                }
 
-                return new ChromeDriver(options);
+                WebDriver driver = startWithCachedBinaries(config, browser, options,
+                        () -> new ChromeDriver(withCachedBinaries(config, browser, new ChromeDriverService.Builder().build(), options), options));
+                if (profile != null) {
+                    ChromeProfileTemplate.attach(driver, profile);
+                }
+                return NetworkReplay.attach(driver, config);
             }
 
             case EDGE -> {
-                return new EdgeDriver();
+                EdgeOptions options = new EdgeOptions();
+
+                WebDriver driver = startWithCachedBinaries(config, browser, options,
+                        () -> new EdgeDriver(withCachedBinaries(config, browser, new EdgeDriverService.Builder().build(), options), options));
+                return NetworkReplay.attach(driver, config);
             }
 
             case SAFARI -> {
-                return new SafariDriver();
+                return NetworkReplay.attach(new SafariDriver(), config);
             }
 
             case FIREFOX -> {
-                return new FirefoxDriver();
+                FirefoxOptions options = new FirefoxOptions();
+
+                return NetworkReplay.attach(startWithCachedBinaries(config, browser, options,
+                        () -> new FirefoxDriver(withCachedBinaries(config, browser, new GeckoDriverService.Builder().build(), options), options)), config);
+            }
+
+            case STUB -> {
+                return NetworkReplay.attach(new StubDriver(), config);
             }
 
             case REMOTE -> throw new UnsupportedOperationException("Remote execution not implemented yet.");
@@ -42,6 +81,30 @@ public class DriverFactory {
         }
     }
 
+    private static <S extends DriverService> S withCachedBinaries(Config config, BrowserType browser, S service, Capabilities options) {
+        if (config.isDriverCacheEnabled()) {
+            DriverBinaryCache.apply(config, browser, service, options);
+        }
+        return service;
+    }
+
+    /**
+     * A cached driver can fall out of step with an auto-updated browser, so a failed session
+     * start drops the cached binaries and retries once with a fresh resolution.
+     */
+    private static WebDriver startWithCachedBinaries(Config config, BrowserType browser, Capabilities options, Supplier<WebDriver> start) {
+        try {
+            return start.get();
+        } catch (SessionNotCreatedException e) {
+            if (!config.isDriverCacheEnabled()) {
+                throw e;
+            }
+            System.err.println("Warn: Session could not be created with cached binaries, resolving again. " + e.getMessage());
+            DriverBinaryCache.invalidate(config, browser, options);
+            return start.get();
+        }
+    }
+
     private static ChromeOptions getChromeOptions(Config config) {
         ChromeOptions options = new ChromeOptions();
         //check for headless mode
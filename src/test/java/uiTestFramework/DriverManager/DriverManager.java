@@ -1,10 +1,20 @@
 package uiTestFramework.DriverManager;
 
+import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.WebDriver;
+import uiTestFramework.Utilities.LoggerUtil;
+import uiTestFramework.Utilities.TestContext;
 import uiTestFramework.config.Config;
 
 import java.lang.module.Configuration;
 import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public class DriverManager {
 
@@ -14,40 +24,236 @@ public class DriverManager {
     4. (To do) Config or cross browser testing needs to be done iof required*/
 
 
-    private static final ThreadLocal<WebDriver> driver = new ThreadLocal<>();
+    private static final Logger log = LoggerUtil.getLogger(DriverManager.class);
+
+    private static final TestContext.Key<Session> SESSION = new TestContext.Key<>("browserSession");
+    private static final TestContext.Key<Object> SCOPE_OWNER = new TestContext.Key<>("sessionScopeOwner");
+    private static final Set<Session> activeSessions = ConcurrentHashMap.newKeySet();
+    // Class and suite scoped sessions between two tests, the next test of the same owner picks one up.
+    // They keep their browser slot, a test kept waiting for one closes them (see evictParked)
+    private static final Map<Object, Queue<Session>> parked = new ConcurrentHashMap<>();
 
     private DriverManager(){
         //prevent instantiation
     }
 
-    public static void setDriver(){
-        if(driver.get() == null){
-            driver.set(DriverFactory.createInstance());
-            driver.get().manage().window().maximize();
+    /**
+     * Sets the owner (test class, suite, or null for a single method) of sessions provisioned
+     * for the current test. A session left over from a different owner is handed back first.
+     */
+    public static void bindScope(Object owner){
+        TestContext context = TestContext.current();
+        context.set(SCOPE_OWNER, owner);
+        Session current = context.get(SESSION);
+        if(current != null && (current.isReleased() || !Objects.equals(current.owner, owner))){
+            context.remove(SESSION);
+            park(current);
         }
     }
 
+    public static void setDriver(){
+        getDriver();
+    }
+
+    /**
+     * Returns the current test's browser. On first use it takes over a parked session of the same
+     * owner or, once a {@link BrowserSlots browser slot} is free, checks one out of the pool and
+     * opens the base url. If no slot frees up within {@code parkedSessionEvictMillis}, an idle
+     * parked session of another owner is released to make one.
+     */
     public static WebDriver getDriver(){
-        return driver.get();
+        TestContext context = TestContext.current();
+        Session current = context.get(SESSION);
+        if(current == null || current.isReleased()){
+            Object owner = context.get(SCOPE_OWNER);
+            current = unpark(owner);
+            if (current == null) {
+                current = provision(owner);
+            } else {
+                NetworkReplay.startTest(current.driver);
+            }
+            context.set(SESSION, current);
+        }
+        return current.driver;
+    }
+
+    /**
+     * Tells whether the current test already holds a browser, without provisioning one.
+     */
+    public static boolean hasDriver(){
+        TestContext context = TestContext.peek();
+        Session current = context == null ? null : context.get(SESSION);
+        return current != null && !current.isReleased();
+    }
+
+    /**
+     * Launches {@code size} browsers in the background so tests can check out a warm one.
+     */
+    public static void warmUp(int size){
+        warmUp(Config.getConfigInstance(), size);
+    }
+
+    /**
+     * Same for the browsers of {@code config}, e.g. a matrix cell.
+     */
+    public static void warmUp(Config config, int size){
+        DriverPool.of(config).warmUp(size);
+    }
+
+    /**
+     * Hands the current test's browser back to the pool, which resets it for the next test
+     * or quits it once it has reached its reuse limit.
+     */
+    public static void releaseDriver(){
+        TestContext context = TestContext.peek();
+        Session current = context == null ? null : context.remove(SESSION);
+        if(current != null){
+            release(current);
+        }
+    }
+
+    /**
+     * Detaches the current test from its class or suite scoped browser, keeping the browser for
+     * the next test of the same owner. A method scoped browser is released.
+     */
+    public static void parkDriver(){
+        TestContext context = TestContext.peek();
+        Session current = context == null ? null : context.remove(SESSION);
+        if(current != null){
+            park(current);
+        }
+    }
+
+    /**
+     * Releases every session owned by {@code owner}, whichever test provisioned it.
+     */
+    public static void releaseDriver(Object owner){
+        parked.remove(owner);
+        for (Session active : activeSessions) {
+            if (Objects.equals(active.owner, owner)) {
+                release(active);
+            }
+        }
     }
 
     public static void quitDriver(){
-        if(driver.get() != null){ // Change == to !=
+        TestContext context = TestContext.peek();
+        Session current = context == null ? null : context.remove(SESSION);
+        if(current != null && current.markReleased()){
+            activeSessions.remove(current);
             try {
-                driver.get().quit();
-            } catch (Exception e) {
-                System.err.println("Unable to quit driver: " + e.getMessage());
+                current.pool.discard(current.driver);
             } finally {
-                driver.remove(); // Always clean up the ThreadLocal
+                BrowserSlots.release();
             }
         }
     }
 
+    /**
+     * Releases all remaining sessions and quits every idle pooled browser, to be called
+     * once the suite is done.
+     */
+    public static void shutdown(){
+        parked.clear();
+        for (Session active : activeSessions) {
+            release(active);
+        }
+        DriverPool.shutdownAll();
+        NetworkReplay.save();
+        ChromeProfileTemplate.cleanUp();
+    }
 
+    private static Session provision(Object owner){
+        BrowserSlots.acquire(Duration.ofMillis(Config.getConfigInstance().getParkedSessionEvictMillis()), DriverManager::evictParked);
+        Session current;
+        try {
+            DriverPool pool = DriverPool.of(Config.getConfigInstance());
+            current = new Session(pool, pool.checkout(), owner);
+        } catch (RuntimeException e) {
+            BrowserSlots.release();
+            throw e;
+        }
+        activeSessions.add(current);
+        NetworkReplay.startTest(current.driver);
 
+        String baseUrl = Config.getConfigInstance().getBaseUrl();
+        if(!baseUrl.isEmpty()){
+            current.driver.get(baseUrl);
+        }
+        return current;
+    }
 
+    private static void park(Session current){
+        if (current.owner == null) {
+            release(current);
+        } else if (!current.isReleased()) {
+            parked.computeIfAbsent(current.owner, owner -> new ConcurrentLinkedQueue<>()).add(current);
+        }
+    }
 
+    private static Session unpark(Object owner){
+        Queue<Session> sessions = owner == null ? null : parked.get(owner);
+        if (sessions == null) {
+            return null;
+        }
+        Session current;
+        while ((current = sessions.poll()) != null) {
+            if (!current.isReleased()) {
+                return current;
+            }
+        }
+        return null;
+    }
 
+    /**
+     * Releases one parked session, whose owner provisions a new browser for its next test. Without
+     * this, threads waiting for a slot while every slot is parked would never let the owners finish.
+     */
+    private static boolean evictParked(){
+        for (Map.Entry<Object, Queue<Session>> entry : parked.entrySet()) {
+            Session idle;
+            while ((idle = entry.getValue().poll()) != null) {
+                if (!idle.isReleased()) {
+                    log.info("No browser slot free, closing the idle session of {}", entry.getKey());
+                    release(idle);
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
 
+    private static void release(Session current){
+        if (current.markReleased()) {
+            activeSessions.remove(current);
+            try {
+                current.pool.release(current.driver);
+            } finally {
+                BrowserSlots.release();
+            }
+        }
+    }
+
+    private static final class Session {
+
+        private final DriverPool pool;
+        private final WebDriver driver;
+        private final Object owner;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Session(DriverPool pool, WebDriver driver, Object owner){
+            this.pool = pool;
+            this.driver = driver;
+            this.owner = owner;
+        }
+
+        private boolean isReleased(){
+            return released.get();
+        }
+
+        private boolean markReleased(){
+            return released.compareAndSet(false, true);
+        }
+    }
 
 }
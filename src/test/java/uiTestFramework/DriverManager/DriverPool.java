@@ -0,0 +1,313 @@
+package uiTestFramework.DriverManager;
+
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+import uiTestFramework.Utilities.FrameworkException;
+import uiTestFramework.Utilities.LoggerUtil;
+import uiTestFramework.Utilities.VirtualThreads;
+import uiTestFramework.config.Config;
+
+import java.net.URI;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pool of reusable browser sessions behind {@link DriverManager}, one per configuration so the
+ * cells of a matrix run each get browsers of their own kind.
+ * A session is checked out to a thread, reset when it comes back and only quit
+ * once it has been used {@code maxSessionReuse} times or fails its health check.
+ * Only Chromium sessions are reused: the reset clears storage of every visited origin through
+ * DevTools, which other browsers do not offer, so their sessions are quit after one use.
+ * <p>
+ * The pool can be pre-warmed in the background and is refilled as sessions retire.
+ * Launches slower than {@code sessionStartHedgeMillis} are hedged with a second launch,
+ * whichever browser is ready first is used and the other one is kept as a spare.
+ */
+final class DriverPool {
+
+    private static final Logger log = LoggerUtil.getLogger(DriverPool.class);
+
+    private static final Map<Config, DriverPool> pools = new ConcurrentHashMap<>();
+
+    private static final ExecutorService launcher = Executors.newCachedThreadPool(VirtualThreads.factory("browser-launcher"));
+
+    private final Config config;
+    private final LinkedBlockingDeque<PooledDriver> idle = new LinkedBlockingDeque<>();
+    private final Map<WebDriver, PooledDriver> checkedOut = new ConcurrentHashMap<>();
+    private final AtomicInteger pendingLaunches = new AtomicInteger();
+
+    private volatile int targetSize = 0;
+    private volatile boolean closed = false;
+
+    private DriverPool(Config config){
+        this.config = config;
+    }
+
+    /**
+     * The pool of browsers launched with {@code config}.
+     */
+    static DriverPool of(Config config){
+        return pools.computeIfAbsent(config, DriverPool::new);
+    }
+
+    /**
+     * Quits the idle browsers of every pool.
+     */
+    static void shutdownAll(){
+        pools.values().forEach(DriverPool::shutdown);
+    }
+
+    /**
+     * Starts filling the pool in the background up to {@code size} idle sessions.
+     */
+    void warmUp(int size){
+        closed = false;
+        targetSize = size;
+        log.info("Pre-warming {} {} browser session(s)", size, config.getBrowser());
+        refill();
+    }
+
+    WebDriver checkout(){
+        PooledDriver pooled;
+        while ((pooled = nextIdle()) != null){
+            if (isHealthy(pooled)){
+                checkedOut.put(pooled.driver, pooled);
+                log.debug("Reusing browser session (use {} of {})", pooled.uses + 1, config.getMaxSessionReuse());
+                return pooled.driver;
+            }
+            log.warn("Discarding pooled browser session that failed its health check");
+            quitQuietly(pooled.driver);
+        }
+
+        pooled = new PooledDriver(launchHedged());
+        checkedOut.put(pooled.driver, pooled);
+        return pooled.driver;
+    }
+
+    /**
+     * Takes an idle session, waiting up to the hedge threshold for one that is still
+     * warming up rather than starting yet another browser.
+     */
+    private PooledDriver nextIdle(){
+        PooledDriver pooled = idle.pollFirst();
+        if (pooled != null || pendingLaunches.get() == 0){
+            return pooled;
+        }
+        try {
+            return idle.pollFirst(config.getSessionStartHedgeMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    void release(WebDriver driver){
+        PooledDriver pooled = checkedOut.remove(driver);
+        if (pooled == null){
+            quitQuietly(driver);
+            return;
+        }
+
+        pooled.uses++;
+        if (!config.isSessionReuseEnabled() || pooled.uses >= config.getMaxSessionReuse() || !(driver instanceof HasCdp)){
+            log.debug("Retiring browser session after {} use(s)", pooled.uses);
+            quitQuietly(driver);
+            refill();
+            return;
+        }
+
+        if (reset(pooled)){
+            idle.offerFirst(pooled);
+        } else {
+            log.warn("Browser session could not be reset, quitting it");
+            quitQuietly(driver);
+            refill();
+        }
+    }
+
+    void discard(WebDriver driver){
+        checkedOut.remove(driver);
+        quitQuietly(driver);
+    }
+
+    void shutdown(){
+        closed = true;
+        targetSize = 0;
+        PooledDriver pooled;
+        while ((pooled = idle.pollFirst()) != null){
+            quitQuietly(pooled.driver);
+        }
+    }
+
+    private void refill(){
+        while (!closed && idle.size() + checkedOut.size() + pendingLaunches.get() < targetSize){
+            pendingLaunches.incrementAndGet();
+            launcher.execute(() -> {
+                try {
+                    adopt(launchHedged());
+                } catch (Exception e) {
+                    log.error("Background browser launch failed: {}", e.getMessage());
+                } finally {
+                    pendingLaunches.decrementAndGet();
+                }
+            });
+        }
+    }
+
+    /**
+     * Parks a freshly launched browser as an idle session, or quits it when the pool is
+     * already full or shutting down.
+     */
+    private void adopt(WebDriver driver){
+        if (!closed && idle.size() + checkedOut.size() < Math.max(targetSize, 1)){
+            idle.offerLast(new PooledDriver(driver));
+        } else {
+            quitQuietly(driver);
+        }
+    }
+
+    private WebDriver launchHedged(){
+        long hedgeMillis = config.getSessionStartHedgeMillis();
+        CompletableFuture<WebDriver> primary = CompletableFuture.supplyAsync(this::launch, launcher);
+        if (hedgeMillis <= 0){
+            return await(primary);
+        }
+
+        try {
+            return primary.get(hedgeMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            log.warn("Browser launch exceeded {} ms, starting a hedge launch", hedgeMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new FrameworkException("Interrupted while starting browser session", e);
+        } catch (ExecutionException e) {
+            throw new FrameworkException("Unable to start browser session", e.getCause());
+        }
+
+        CompletableFuture<WebDriver> hedge = CompletableFuture.supplyAsync(this::launch, launcher);
+        CompletableFuture<WebDriver> winner = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+
+        for (CompletableFuture<WebDriver> attempt : List.of(primary, hedge)) {
+            attempt.whenComplete((driver, error) -> {
+                if (error != null) {
+                    if (failures.incrementAndGet() == 2) {
+                        winner.completeExceptionally(error);
+                    }
+                } else if (!winner.complete(driver)) {
+                    adopt(driver);
+                }
+            });
+        }
+        return await(winner);
+    }
+
+    private static WebDriver await(CompletableFuture<WebDriver> launch){
+        try {
+            return launch.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new FrameworkException("Interrupted while starting browser session", e);
+        } catch (ExecutionException e) {
+            throw new FrameworkException("Unable to start browser session", e.getCause());
+        }
+    }
+
+    private WebDriver launch(){
+        // Runs on a launcher thread, which has no test and so no config view of its own
+        WebDriver driver = DriverFactory.createInstance(config);
+        driver.manage().window().maximize();
+        return driver;
+    }
+
+    private static boolean isHealthy(PooledDriver pooled){
+        try {
+            return pooled.driver.getWindowHandles().contains(pooled.homeWindow);
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    /**
+     * Brings a returned Chromium session back to a blank state: extra windows closed, every
+     * kind of storage (local, session, IndexedDB, caches, service workers) of every origin its
+     * windows navigated to and all cookies cleared, and the home window parked on about:blank.
+     */
+    private static boolean reset(PooledDriver pooled){
+        WebDriver driver = pooled.driver;
+        HasCdp cdp = (HasCdp) driver;
+        try {
+            Set<String> origins = new HashSet<>();
+            for (String handle : driver.getWindowHandles()) {
+                driver.switchTo().window(handle);
+                origins.addAll(visitedOrigins(cdp));
+                if (!handle.equals(pooled.homeWindow)) {
+                    driver.close();
+                }
+            }
+            driver.switchTo().window(pooled.homeWindow);
+
+            for (String origin : origins) {
+                cdp.executeCdpCommand("Storage.clearDataForOrigin", Map.of("origin", origin, "storageTypes", "all"));
+            }
+            cdp.executeCdpCommand("Network.clearBrowserCookies", Map.of());
+
+            driver.get("about:blank");
+            return true;
+        } catch (Exception e) {
+            log.debug("Reset of browser session failed: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Origins in the back/forward history of the current window.
+     */
+    private static Set<String> visitedOrigins(HasCdp cdp){
+        Set<String> origins = new HashSet<>();
+        Object entries = cdp.executeCdpCommand("Page.getNavigationHistory", Map.of()).get("entries");
+        for (Object entry : entries instanceof List<?> list ? list : List.of()) {
+            Object url = entry instanceof Map<?, ?> map ? map.get("url") : null;
+            if (url instanceof String address && address.startsWith("http")) {
+                URI uri = URI.create(address);
+                origins.add(uri.getScheme() + "://" + uri.getAuthority());
+            }
+        }
+        return origins;
+    }
+
+    private static void quitQuietly(WebDriver driver){
+        try {
+            driver.quit();
+        } catch (Exception e) {
+            System.err.println("Unable to quit driver: " + e.getMessage());
+        } finally {
+            NetworkReplay.detach(driver);
+            ChromeProfileTemplate.release(driver);
+        }
+    }
+
+    private static final class PooledDriver {
+
+        private final WebDriver driver;
+        private final String homeWindow;
+        private int uses;
+
+        private PooledDriver(WebDriver driver){
+            this.driver = driver;
+            this.homeWindow = driver.getWindowHandle();
+        }
+    }
+}
@@ -0,0 +1,300 @@
+package uiTestFramework.DriverManager;
+
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.devtools.NetworkInterceptor;
+import org.openqa.selenium.remote.http.Contents;
+import org.openqa.selenium.remote.http.Filter;
+import org.openqa.selenium.remote.http.HttpRequest;
+import org.openqa.selenium.remote.http.HttpResponse;
+import org.testng.ITestResult;
+import org.testng.Reporter;
+import uiTestFramework.Utilities.FrameworkException;
+import uiTestFramework.Utilities.LoggerUtil;
+import uiTestFramework.config.Config;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Records the HTTP responses the application under test sends to the browser, and serves them
+ * back from disk on later runs, through the DevTools network interception of Chromium browsers:
+ * <ul>
+ *     <li>{@code networkMode=record} passes every request through and keeps the response. The
+ *     recording replaces {@code networkRecordingDir/<env>.rec.gz} when the suite ends.</li>
+ *     <li>{@code networkMode=replay} answers every request from the recording without touching
+ *     the network. Repeated requests get the recorded responses in order, the last one again
+ *     after that. Requests that were never recorded get a 404.</li>
+ *     <li>{@code networkMode=live} (default) leaves the browser alone.</li>
+ * </ul>
+ * Responses are kept per test, so tests can record and replay in parallel and in any order. A
+ * request the test did not make while recording, e.g. a login it now restores from the session
+ * cache instead, is answered with what any other test got for it, so replay does not depend on
+ * the order the tests ran in.
+ * Record and replay fail on browsers without DevTools rather than run against the live site.
+ * Interception works inside the browser, so HTTPS needs no certificates or proxy settings.
+ */
+final class NetworkReplay {
+
+    private static final Logger log = LoggerUtil.getLogger(NetworkReplay.class);
+
+    private static final int FORMAT_VERSION = 3;
+    /** Describe the recorded body, not the decoded one the browser is given on replay */
+    private static final Set<String> DROPPED_HEADERS = Set.of("content-encoding", "content-length", "transfer-encoding");
+
+    private static final Map<Path, Recording> recordings = new ConcurrentHashMap<>();
+    private static final Map<WebDriver, Tape> tapes = new ConcurrentHashMap<>();
+
+    private NetworkReplay(){
+        //prevent instantiation
+    }
+
+    /**
+     * Starts recording or replaying on a freshly launched browser, as {@code config} asks.
+     */
+    static WebDriver attach(WebDriver driver, Config config){
+        String mode = config.getNetworkMode();
+        if (mode.equals("live")) {
+            return driver;
+        }
+
+        Path file = Path.of(config.getNetworkRecordingDir(), config.getEnvironment().name().toLowerCase(Locale.ROOT) + ".rec.gz");
+        try {
+            if (!(driver instanceof HasCdp)) {
+                throw new FrameworkException("networkMode=" + mode + " needs a Chromium browser, " + config.getBrowser() + " has no DevTools");
+            }
+            Tape tape = new Tape();
+            Filter filter = switch (mode) {
+                case "record" -> recordingFilter(recordings.computeIfAbsent(file, Recording::new), tape);
+                case "replay" -> replayingFilter(recordings.computeIfAbsent(file, NetworkReplay::load), tape);
+                default -> throw new FrameworkException("Unknown networkMode '" + mode + "', expected live, record or replay");
+            };
+            tape.interceptor = new NetworkInterceptor(driver, filter);
+            tapes.put(driver, tape);
+        } catch (RuntimeException e) {
+            // Going live instead would silently defeat the point of a replay run
+            driver.quit();
+            throw e instanceof FrameworkException ? e
+                    : new FrameworkException("Could not intercept the network of " + config.getBrowser() + " for networkMode=" + mode, e);
+        }
+        return driver;
+    }
+
+    /**
+     * Files the requests {@code driver} makes from now on under the test running on this thread,
+     * told apart by its data provider arguments, and replays that test's responses from their start.
+     */
+    static void startTest(WebDriver driver){
+        Tape tape = tapes.get(driver);
+        if (tape != null) {
+            ITestResult result = Reporter.getCurrentTestResult();
+            tape.test = result == null ? "" : result.getMethod().getQualifiedName()
+                    + (result.getParameters().length == 0 ? "" : Arrays.toString(result.getParameters()));
+            tape.positions.clear();
+        }
+    }
+
+    /**
+     * Stops intercepting for a browser that is being quit.
+     */
+    static void detach(WebDriver driver){
+        Tape tape = tapes.remove(driver);
+        if (tape != null) {
+            try {
+                tape.interceptor.close();
+            } catch (RuntimeException e) {
+                log.debug("Closing network interceptor failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Writes every recording made in this run, to be called once the browsers are closed.
+     */
+    static void save(){
+        for (Recording recording : recordings.values()) {
+            if (recording.recorded) {
+                write(recording);
+            }
+        }
+    }
+
+    private static Filter recordingFilter(Recording recording, Tape tape){
+        return next -> request -> {
+            HttpResponse response = next.execute(request);
+            byte[] body = Contents.bytes(response.getContent());
+            response.setContent(Contents.bytes(body));
+
+            List<String[]> headers = new ArrayList<>();
+            response.forEachHeader((name, value) -> {
+                if (!DROPPED_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                    headers.add(new String[]{name, value});
+                }
+            });
+            recording.add(tape.key(request), new Exchange(response.getStatus(), headers, body));
+            return response;
+        };
+    }
+
+    private static Filter replayingFilter(Recording recording, Tape tape){
+        return next -> request -> {
+            Key key = tape.key(request);
+            Object position = key;
+            List<Exchange> recorded = recording.exchanges.get(key);
+            if (recorded == null) {
+                position = key.request();
+                recorded = recording.byRequest.get(key.request());
+            }
+            if (recorded == null) {
+                if (recording.missed.add(key.request())) {
+                    System.err.println("Warn: No recorded response for " + key.request() + ", answering 404");
+                }
+                return new HttpResponse().setStatus(404);
+            }
+            int index = tape.positions.merge(position, 1, Integer::sum) - 1;
+            return recorded.get(Math.min(index, recorded.size() - 1)).toResponse();
+        };
+    }
+
+    private static Recording load(Path file){
+        if (!Files.exists(file)) {
+            throw new FrameworkException("No network recording at " + file.toAbsolutePath()
+                    + ", run the suite once with networkMode=record");
+        }
+        Recording recording = new Recording(file);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(Files.newInputStream(file))))) {
+            int version = in.readInt();
+            if (version != FORMAT_VERSION) {
+                throw new FrameworkException("Network recording " + file + " has format " + version + ", expected " + FORMAT_VERSION);
+            }
+            int keys = in.readInt();
+            for (int k = 0; k < keys; k++) {
+                Key key = new Key(in.readUTF(), in.readUTF());
+                int count = in.readInt();
+                List<Exchange> exchanges = new ArrayList<>(count);
+                for (int e = 0; e < count; e++) {
+                    int status = in.readInt();
+                    int headerCount = in.readInt();
+                    List<String[]> headers = new ArrayList<>(headerCount);
+                    for (int h = 0; h < headerCount; h++) {
+                        headers.add(new String[]{in.readUTF(), in.readUTF()});
+                    }
+                    byte[] body = new byte[in.readInt()];
+                    in.readFully(body);
+                    exchanges.add(new Exchange(status, headers, body));
+                }
+                recording.exchanges.put(key, exchanges);
+                recording.byRequest.computeIfAbsent(key.request(), ignored -> new ArrayList<>()).addAll(exchanges);
+            }
+        } catch (EOFException e) {
+            throw new FrameworkException("Network recording " + file + " is truncated", e);
+        } catch (IOException e) {
+            throw new FrameworkException("Could not read network recording " + file, e);
+        }
+        log.info("Replaying {} recorded request(s) from {}", recording.exchanges.size(), file);
+        return recording;
+    }
+
+    private static void write(Recording recording){
+        Path file = recording.file;
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            Path temp = Files.createTempFile(file.toAbsolutePath().getParent(), file.getFileName().toString(), ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(Files.newOutputStream(temp))))) {
+                out.writeInt(FORMAT_VERSION);
+                out.writeInt(recording.exchanges.size());
+                for (Map.Entry<Key, List<Exchange>> entry : recording.exchanges.entrySet()) {
+                    out.writeUTF(entry.getKey().test());
+                    out.writeUTF(entry.getKey().request());
+                    List<Exchange> exchanges = List.copyOf(entry.getValue());
+                    out.writeInt(exchanges.size());
+                    for (Exchange exchange : exchanges) {
+                        out.writeInt(exchange.status());
+                        out.writeInt(exchange.headers().size());
+                        for (String[] header : exchange.headers()) {
+                            out.writeUTF(header[0]);
+                            out.writeUTF(header[1]);
+                        }
+                        out.writeInt(exchange.body().length);
+                        out.write(exchange.body());
+                    }
+                }
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info("Recorded {} request(s) to {}", recording.exchanges.size(), file);
+        } catch (IOException e) {
+            System.err.println("Warn: Could not write network recording " + file + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * What one browser is intercepting for: the test using it and how far that test has replayed,
+     * per {@link Key} or, for requests answered from other tests, per request.
+     */
+    private static final class Tape {
+
+        private NetworkInterceptor interceptor;
+        private volatile String test = "";
+        private final Map<Object, Integer> positions = new ConcurrentHashMap<>();
+
+        private Key key(HttpRequest request){
+            String uri = request.getUri();
+            int fragment = uri.indexOf('#');
+            return new Key(test, request.getMethod() + " " + (fragment < 0 ? uri : uri.substring(0, fragment)));
+        }
+    }
+
+    /**
+     * @param request method and url without the fragment
+     */
+    private record Key(String test, String request) {
+    }
+
+    private static final class Recording {
+
+        private final Path file;
+        private final Map<Key, List<Exchange>> exchanges = new ConcurrentHashMap<>();
+        /** The exchanges of every test by request alone, only filled for replay */
+        private final Map<String, List<Exchange>> byRequest = new ConcurrentHashMap<>();
+        private final Set<String> missed = ConcurrentHashMap.newKeySet();
+        private volatile boolean recorded;
+
+        private Recording(Path file){
+            this.file = file;
+        }
+
+        private void add(Key key, Exchange exchange){
+            exchanges.computeIfAbsent(key, ignored -> Collections.synchronizedList(new ArrayList<>())).add(exchange);
+            recorded = true;
+        }
+    }
+
+    private record Exchange(int status, List<String[]> headers, byte[] body) {
+
+        HttpResponse toResponse(){
+            HttpResponse response = new HttpResponse().setStatus(status);
+            for (String[] header : headers) {
+                response.addHeader(header[0], header[1]);
+            }
+            return response.setContent(Contents.bytes(body));
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package uiTestFramework.PageObjects;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import uiTestFramework.config.Config;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Performs the in-browser part of an action (locate, visibility/enabled check, scroll,
+ * highlight, hit test and click or value set) in a single script call instead of one
+ * WebDriver roundtrip per step.
+ * <p>
+ * Whenever the script cannot finish the action safely it reports why instead of acting,
+ * and the caller falls back to the regular wait + native event path. Once the click or value
+ * set is dispatched, failures are reported as {@link Outcome#DISPATCH_FAILED} instead: the
+ * action may have happened and must not be repeated.
+ * <p>
+ * Opt-in through {@code fusedActions=true}: the script clicks with {@code el.click()} and types by
+ * setting the value, so no pointer or key events fire and WebDriver's interactability checks are
+ * skipped. Leave it off for autocomplete and other keystroke driven widgets.
+ */
+final class ActionEngine {
+
+    enum Outcome {
+        DONE,
+        NOT_FOUND,
+        HIDDEN,
+        DISABLED,
+        INTERCEPTED,
+        UNSUPPORTED,
+        /** The script threw before acting. */
+        FAILED,
+        /** The script threw while or after clicking or setting the value. */
+        DISPATCH_FAILED
+    }
+
+    /** Locator strategies the browser can resolve itself, see {@link By.Remotable}. */
+    private static final Set<String> BROWSER_STRATEGIES = Set.of("css selector", "xpath", "tag name");
+
+    /**
+     * Browser side locator helpers shared by all scripts: {@code locate} returns the first match
+     * or null, {@code locateAll} every match below {@code root} as an array.
+     */
+    static final String LOCATE_FUNCTIONS = """
+            function locateAll(using, value, root) {
+              root = root || document;
+              if (using === 'css selector') { return Array.prototype.slice.call(root.querySelectorAll(value)); }
+              if (using === 'tag name') { return Array.prototype.slice.call(root.getElementsByTagName(value)); }
+              var snapshot = document.evaluate(value, root, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);
+              var found = [];
+              for (var i = 0; i < snapshot.snapshotLength; i++) { found.push(snapshot.snapshotItem(i)); }
+              return found;
+            }
+            function locate(using, value) {
+              if (using === 'css selector') { return document.querySelector(value); }
+              if (using === 'tag name') { return document.getElementsByTagName(value)[0] || null; }
+              return document.evaluate(value, document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue;
+            }
+            """;
+
+    private static final String FUSED_ACTION_FUNCTION = """
+            function fusedAction(locateElement, action, hitTest, text) {
+              var dispatched = false;
+              try {
+                var el = locateElement();
+                if (!el) { return 'NOT_FOUND'; }
+                var style = window.getComputedStyle(el);
+                if (!el.getClientRects().length || style.visibility === 'hidden' || style.display === 'none') {
+                  return 'HIDDEN';
+                }
+                if (el.disabled || el.getAttribute('aria-disabled') === 'true') { return 'DISABLED'; }
+                if (action === 'setValue') {
+                  var settable = el instanceof HTMLTextAreaElement ||
+                      (el instanceof HTMLInputElement && /^(text|password|email|search|tel|url|number|)$/.test(el.type));
+                  if (!settable) { return 'UNSUPPORTED'; }
+                  if (el.readOnly) { return 'DISABLED'; }
+                }
+                el.scrollIntoView({block: 'center', inline: 'center'});
+                el.style.border = '2px solid orange';
+                if (hitTest) {
+                  var rect = el.getBoundingClientRect();
+                  var hit = document.elementFromPoint(rect.left + rect.width / 2, rect.top + rect.height / 2);
+                  if (!hit || (hit !== el && !el.contains(hit))) { return 'INTERCEPTED'; }
+                }
+                dispatched = true;
+                if (action === 'click') {
+                  el.click();
+                  return 'DONE';
+                }
+                var proto = el instanceof HTMLTextAreaElement ? HTMLTextAreaElement.prototype : HTMLInputElement.prototype;
+                el.focus();
+                // Going through the prototype setter keeps framework managed inputs (Vue, React) in sync
+                Object.getOwnPropertyDescriptor(proto, 'value').set.call(el, text);
+                el.dispatchEvent(new Event('input', {bubbles: true}));
+                el.dispatchEvent(new Event('change', {bubbles: true}));
+                return 'DONE';
+              } catch (e) {
+                // Before the click or value set nothing happened yet and native events can take over
+                return dispatched ? 'DISPATCH_FAILED' : 'FAILED';
+              }
+            }
+            """;
+
+    private static final String FUSED_ACTION_SCRIPT = LOCATE_FUNCTIONS + FUSED_ACTION_FUNCTION + """
+            var args = arguments;
+            return fusedAction(function () {
+              return args[0] || (args[1] ? locate(args[1], args[2]) : null);
+            }, args[3], args[4], args[5]);
+            """;
+
+    private static final String SET_VALUES_SCRIPT = LOCATE_FUNCTIONS + FUSED_ACTION_FUNCTION + """
+            return arguments[0].map(function (field) {
+              if (!field) { return 'UNSUPPORTED'; }
+              return fusedAction(function () { return locate(field[0], field[1]); }, 'setValue', true, field[2]);
+            });
+            """;
+
+    private final WebDriver driver;
+
+    ActionEngine(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    boolean isEnabled() {
+        return driver instanceof JavascriptExecutor && Config.getConfigInstance().isFusedActionsEnabled();
+    }
+
+    /**
+     * Clicks like a user would: the click is only fired when the element's centre is not covered.
+     */
+    Outcome click(Object target) {
+        return run(target, "click", true, null);
+    }
+
+    /**
+     * Clicks through JavaScript, even when another element covers the target.
+     */
+    Outcome javascriptClick(Object target) {
+        return run(target, "click", false, null);
+    }
+
+    Outcome setValue(Object target, String text) {
+        return run(target, "setValue", true, text);
+    }
+
+    /**
+     * Sets several fields in one script call. Returns one outcome per field, in order, fields
+     * whose locator can not be resolved in the browser come back as {@link Outcome#UNSUPPORTED}.
+     */
+    List<Outcome> setValues(List<Map.Entry<By, String>> fields) {
+        List<List<Object>> browserFields = new ArrayList<>();
+        for (Map.Entry<By, String> field : fields) {
+            Object[] browserLocator = toBrowserLocator(field.getKey());
+            browserFields.add(browserLocator == null
+                    ? null
+                    : Arrays.asList(browserLocator[0], browserLocator[1], field.getValue()));
+        }
+
+        List<?> result = (List<?>) ((JavascriptExecutor) driver).executeScript(SET_VALUES_SCRIPT, browserFields);
+        List<Outcome> outcomes = new ArrayList<>();
+        for (Object outcome : result) {
+            outcomes.add(Outcome.valueOf(String.valueOf(outcome)));
+        }
+        return outcomes;
+    }
+
+    /**
+     * Turns a locator into the {@code (using, value)} pair the browser side can resolve, or null
+     * when it has to be resolved through WebDriver.
+     */
+    static Object[] toBrowserLocator(By locator) {
+        if (locator instanceof By.Remotable remotable) {
+            By.Remotable.Parameters parameters = remotable.getRemoteParameters();
+            if (BROWSER_STRATEGIES.contains(parameters.using().toLowerCase(Locale.ROOT))) {
+                return new Object[]{parameters.using(), String.valueOf(parameters.value())};
+            }
+        }
+        return null;
+    }
+
+    private Outcome run(Object target, String action, boolean hitTest, String text) {
+        Object element = null;
+        String using = null;
+        String value = null;
+
+        if (target instanceof WebElement webElement) {
+            element = webElement;
+        } else {
+            Object[] browserLocator = toBrowserLocator((By) target);
+            if (browserLocator == null) {
+                return Outcome.UNSUPPORTED;
+            }
+            using = (String) browserLocator[0];
+            value = (String) browserLocator[1];
+        }
+
+        Object result = ((JavascriptExecutor) driver).executeScript(FUSED_ACTION_SCRIPT,
+                element, using, value, action, hitTest, text);
+        return Outcome.valueOf(String.valueOf(result));
+    }
+}
@@ -3,26 +3,131 @@ package uiTestFramework.PageObjects;
 import io.reactivex.rxjava3.internal.operators.flowable.FlowableCache;
 import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.*;
-import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
+import uiTestFramework.Utilities.ActionMetrics;
+import uiTestFramework.Utilities.ActionTrace;
 import uiTestFramework.Utilities.FrameworkException;
+import uiTestFramework.config.Config;
 import java.time.Duration;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 @SuppressWarnings("LoggingSimilarMessage")
 public abstract class BasePage {
 
-    private static final int DEFAULT_TIMEOUT = 12;
-
     protected Logger log;
     protected WebDriver driver;
     protected WebDriverWait wait;
 
-
+    private final LocatorCache locatorCache = new LocatorCache();
+    private final BrowserWaits waits;
 
     public BasePage(WebDriver driver,Logger logger){
         this.driver = driver;
         this.log = logger;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(DEFAULT_TIMEOUT));
+        this.wait = new WebDriverWait(driver, Duration.ofSeconds(Config.getConfigInstance().getTimeout()));
+        this.waits = new BrowserWaits(driver);
+    }
+
+    /************* locator cache methods *************/
+
+    /**
+     * Waits for the element of a locator, starting from the cached element when there is one.
+     * A stale cached element invalidates the cache and the locator is resolved again.
+     */
+    private WebElement waitForCached(By locator, Function<WebElement, WebElement> cachedWait,
+                                     Supplier<WebElement> locatorWait){
+        WebElement cached = locatorCache.get(locator);
+        if (cached != null) {
+            try {
+                return cachedWait.apply(cached);
+            } catch (StaleElementReferenceException e) {
+                log.debug("Cached element for {} went stale, resolving it again", locator);
+                locatorCache.invalidate();
+            }
+        }
+        WebElement element = locatorWait.get();
+        locatorCache.put(locator, element);
+        return element;
+    }
+
+    /**
+     * Runs a wait for an element to appear with the deadline learned for that element,
+     * see {@link TimeoutPolicy#await}.
+     */
+    private WebElement learnedWait(String elementName, Function<Duration, WebElement> waitLogic){
+        return TimeoutPolicy.await(getClass(), elementName, waitLogic);
+    }
+
+    /**
+     * Runs an action on a resolved element and, if the element went stale in between,
+     * resolves it once more and retries.
+     */
+    private <T> T onElement(WebElement element, Supplier<WebElement> reResolve, Function<WebElement, T> action){
+        try {
+            return action.apply(element);
+        } catch (StaleElementReferenceException e) {
+            locatorCache.invalidate();
+            return action.apply(reResolve.get());
+        }
+    }
+
+    /**
+     * Runs one step of an action and records its duration and outcome in {@link ActionMetrics} and
+     * the {@link ActionTrace}. Its start is logged at INFO, unless it only goes to the trace.
+     */
+    private <T> T step(String action, String elementName, String message, Supplier<T> logic){
+        if (!ActionTrace.isEnabled()) {
+            log.info(message, elementName);
+        }
+        return measured(action, elementName, logic);
+    }
+
+    private <T> T step(String action, String elementName, String message, Object detail, Supplier<T> logic){
+        if (!ActionTrace.isEnabled()) {
+            log.info(message, elementName, detail);
+        }
+        return measured(action, elementName, logic);
+    }
+
+    private <T> T measured(String action, String elementName, Supplier<T> logic){
+        long start = System.nanoTime();
+        try {
+            T result = logic.get();
+            record(action, elementName, System.nanoTime() - start, ActionMetrics.Outcome.SUCCESS);
+            return result;
+        } catch (RuntimeException e) {
+            record(action, elementName, System.nanoTime() - start, ActionMetrics.Outcome.of(e));
+            throw e;
+        }
+    }
+
+    private void record(String action, String elementName, long nanos, ActionMetrics.Outcome outcome){
+        ActionMetrics.record(getClass(), elementName, action, nanos, outcome);
+        ActionTrace.record(getClass(), elementName, action, nanos, outcome);
+    }
+
+    private void stepDone(String message, String elementName){
+        if (!ActionTrace.isEnabled()) {
+            log.info(message, elementName);
+        }
+    }
+
+    /**
+     * Navigates to a url, dropping every element cached for the previous document.
+     */
+    protected void navigateTo(String url){
+        log.info("Navigating to: {}", url);
+        locatorCache.invalidate();
+        driver.get(url);
+    }
+
+    protected void invalidateLocatorCache(){
+        locatorCache.invalidate();
+    }
+
+    protected String getLocatorCacheStats(){
+        return locatorCache.stats();
     }
 
     /*log.error("Element '{}' not found using locator: {}",elementName,locator);
@@ -35,8 +140,9 @@ public abstract class BasePage {
 
     protected WebElement waitForVisibilityOfElement(By locator,String elementName){
         try {
-            log.info("Waiting for Visibility of element: {} using by locator",elementName);
-            return wait.until(ExpectedConditions.visibilityOfElementLocated(locator));
+            return step("Wait for visibility", elementName, "Waiting for Visibility of element: {} using by locator",
+                    () -> learnedWait(elementName, timeout -> waitForCached(locator,
+                            el -> waits.visible(el, timeout), () -> waits.visible(locator, timeout))));
         } catch (StaleElementReferenceException e) {
             log.error("Element '{}' went stale cannot check for visibility by locator {}",elementName,locator);
             throw new FrameworkException("Element "+elementName+" went stale",e);
@@ -54,8 +160,8 @@ public abstract class BasePage {
 
     protected WebElement waitForVisibilityOfElement(WebElement element,String elementName){
         try {
-            log.info("Waiting for Visibility of element: {}",elementName);
-            return wait.until(ExpectedConditions.visibilityOf(element));
+            return step("Wait for visibility", elementName, "Waiting for Visibility of element: {}",
+                    () -> learnedWait(elementName, timeout -> waits.visible(element, timeout)));
         } catch (StaleElementReferenceException e) {
             log.error("Element '{}' went stale cannot check for visibility.",elementName);
             throw new FrameworkException("Element "+elementName+" went stale.",e);
@@ -70,8 +176,9 @@ public abstract class BasePage {
 
     protected boolean waitForInvisibilityOfElement(By locator,String elementName){
         try {
-            log.info("Waiting for invisibility of element: {} by locator {}",elementName,locator);
-            return wait.until(ExpectedConditions.invisibilityOfElementLocated(locator));
+            locatorCache.remove(locator);
+            return step("Wait for invisibility", elementName, "Waiting for invisibility of element: {} by locator {}", locator,
+                    () -> waits.invisible(locator, Duration.ofSeconds(Config.getConfigInstance().getTimeout())));
         }  catch (StaleElementReferenceException e) {
             log.error("Element '{}' went stale cannot check for invisibility by locator {}",elementName,locator);
             throw new FrameworkException("Element "+elementName+" went stale",e);
@@ -89,8 +196,8 @@ public abstract class BasePage {
 
     protected boolean waitForInvisibilityOfElement(WebElement element,String elementName){
         try {
-            log.info("Waiting for invisibility of element: {}",elementName);
-            return wait.until(ExpectedConditions.invisibilityOf(element));
+            return step("Wait for invisibility", elementName, "Waiting for invisibility of element: {}",
+                    () -> waits.invisible(element, Duration.ofSeconds(Config.getConfigInstance().getTimeout())));
         } catch (StaleElementReferenceException e) {
             log.error("Element '{}' went stale cannot check for invisibility.",elementName);
             throw new FrameworkException("Element "+elementName+" went stale.",e);
@@ -105,8 +212,9 @@ public abstract class BasePage {
 
     protected WebElement waitForElementToBeClickable(By locator, String elementName){
         try {
-            log.info("Waiting for element to be clickable: {}", elementName);
-            return wait.until(ExpectedConditions.elementToBeClickable(locator));
+            return step("Wait for clickable", elementName, "Waiting for element to be clickable: {}",
+                    () -> learnedWait(elementName, timeout -> waitForCached(locator,
+                            el -> waits.clickable(el, timeout), () -> waits.clickable(locator, timeout))));
         } catch (StaleElementReferenceException e) {
             log.error("Element '{}' went stale cannot check if clickable by locator {}",elementName,locator);
             throw new FrameworkException("Element '"+elementName+"' went stale",e);
@@ -125,8 +233,8 @@ public abstract class BasePage {
 
     protected WebElement waitForElementToBeClickable(WebElement element, String elementName){
         try {
-            log.info("Waiting for element to be clickable: {}", elementName);
-            return wait.until(ExpectedConditions.elementToBeClickable(element));
+            return step("Wait for clickable", elementName, "Waiting for element to be clickable: {}",
+                    () -> learnedWait(elementName, timeout -> waits.clickable(element, timeout)));
         } catch (StaleElementReferenceException e) {
             log.error("Element '{}' went stale cannot check if clickable.",elementName);
             throw new FrameworkException("Element "+elementName+" went stale.",e);
@@ -144,11 +252,14 @@ public abstract class BasePage {
 
     protected void clickOnElement(By locator,String elementName){
 
-        waitForElementToBeClickable(locator,elementName);
+        WebElement element = waitForElementToBeClickable(locator,elementName);
 
         try {
-            log.info("Clicking on element: {}", elementName);
-            driver.findElement(locator).click();
+            step("Click", elementName, "Clicking on element: {}",
+                    () -> onElement(element, () -> waitForElementToBeClickable(locator,elementName), el -> {
+                        el.click();
+                        return null;
+                    }));
         } catch (StaleElementReferenceException e) {
             log.error("Element '{}' went stale cannot check if clickable by locator {}",elementName,locator);
             throw new FrameworkException("Element '"+elementName+"' went stale",e);
@@ -169,8 +280,10 @@ public abstract class BasePage {
         waitForElementToBeClickable(element, elementName);
 
         try {
-            log.info("Clicking on element: {}", elementName);
-            element.click();
+            step("Click", elementName, "Clicking on element: {}", () -> {
+                element.click();
+                return null;
+            });
         } catch (StaleElementReferenceException e) {
             log.error("Element '{}' went stale cannot check if clickable",elementName);
             throw new FrameworkException("Element '"+elementName+"' went stale",e);
@@ -187,9 +300,10 @@ public abstract class BasePage {
         WebElement element = waitForElementToBeClickable(locator,elementName);
 
         try {
-            log.info("JavaScript Executor clicking on element: {}", elementName);
-            ((JavascriptExecutor) driver).executeScript("arguments[0].click();",element);
-            log.info("JavaScript Executor clicked on element: {}",elementName);
+            step("JS Click", elementName, "JavaScript Executor clicking on element: {}",
+                    () -> onElement(element, () -> waitForElementToBeClickable(locator,elementName),
+                            el -> ((JavascriptExecutor) driver).executeScript("arguments[0].click();",el)));
+            stepDone("JavaScript Executor clicked on element: {}", elementName);
         } catch (JavascriptException e) {
             log.error("Element '{}' was not clickable by Javascript Executor by locator {}",elementName,locator);
             throw new FrameworkException("Element '"+elementName+"' was not clickable by Javascript Executor",e);
@@ -210,9 +324,9 @@ public abstract class BasePage {
         waitForElementToBeClickable(element,elementName);
 
         try {
-            log.info("JavaScript Executor clicking on element: {}", elementName);
-            ((JavascriptExecutor) driver).executeScript("arguments[0].click();",element);
-            log.info("JavaScript Executor clicked on element: {}",elementName);
+            step("JS Click", elementName, "JavaScript Executor clicking on element: {}",
+                    () -> ((JavascriptExecutor) driver).executeScript("arguments[0].click();",element));
+            stepDone("JavaScript Executor clicked on element: {}", elementName);
         } catch (JavascriptException e) {
             log.error("Element '{}' was not clickable by Javascript Executor",elementName);
             throw new FrameworkException("Element '"+elementName+"' was not clickable by Javascript Executor",e);
@@ -230,11 +344,11 @@ public abstract class BasePage {
     /************* Get and set values methods *************/
 
     protected String getText(By locator,String elementName){
-        waitForVisibilityOfElement(locator,elementName);
+        WebElement element = waitForVisibilityOfElement(locator,elementName);
 
         try {
-            log.info("Getting text from element: {}",elementName);
-            return driver.findElement(locator).getText();
+            return step("Get text", elementName, "Getting text from element: {}",
+                    () -> onElement(element, () -> waitForVisibilityOfElement(locator,elementName), WebElement::getText));
         } catch (StaleElementReferenceException e) {
             log.error("Element '{}' went stale cannot interact by locator {}",elementName,locator);
             throw new FrameworkException("Element '"+elementName+"' went stale",e);
@@ -251,8 +365,7 @@ public abstract class BasePage {
         waitForVisibilityOfElement(element,elementName);
 
         try {
-            log.info("Getting text from element: {}",elementName);
-            return element.getText();
+            return step("Get text", elementName, "Getting text from element: {}", element::getText);
         } catch (StaleElementReferenceException e) {
             log.error("Element '{}' went stale cannot interact",elementName);
             throw new FrameworkException("Element "+elementName+" went stale",e);
@@ -263,14 +376,15 @@ public abstract class BasePage {
     }
 
     protected void enterText(By locator,String elementName,String textToEnter){
-        waitForElementToBeClickable(locator,elementName);
+        WebElement element = waitForElementToBeClickable(locator,elementName);
 
         try {
-            log.info("Entering text in the element: {}",elementName);
-            WebElement element = driver.findElement(locator);
-
-            element.clear();
-            element.sendKeys(textToEnter);
+            step("Enter text", elementName, "Entering text in the element: {}",
+                    () -> onElement(element, () -> waitForElementToBeClickable(locator,elementName), el -> {
+                        el.clear();
+                        el.sendKeys(textToEnter);
+                        return null;
+                    }));
         } catch (StaleElementReferenceException e) {
             log.error("Element '{}' went stale cannot interact by locator {}",elementName,locator);
             throw new FrameworkException("Element '"+elementName+"' went stale",e);
@@ -286,9 +400,11 @@ public abstract class BasePage {
     protected void enterText(WebElement element,String elementName,String textToEnter){
         waitForElementToBeClickable(element,elementName);
         try {
-            log.info("Entering text in the element: {}",elementName);
-            element.clear();
-            element.sendKeys(textToEnter);
+            step("Enter text", elementName, "Entering text in the element: {}", () -> {
+                element.clear();
+                element.sendKeys(textToEnter);
+                return null;
+            });
         } catch (StaleElementReferenceException e) {
             log.error("Element '{}' went stale cannot interact",elementName);
             throw new FrameworkException("Element "+elementName+" went stale",e);
@@ -299,10 +415,10 @@ public abstract class BasePage {
     }
 
     protected String getAttribute(By locator,String elementName, String attribute){
-        waitForVisibilityOfElement(locator,elementName);
+        WebElement element = waitForVisibilityOfElement(locator,elementName);
         try {
-            log.info("Getting attribute: {} from element: {}",attribute,elementName);
-            return driver.findElement(locator).getAttribute(attribute);
+            return step("Get attribute", elementName, "Getting attribute from element: {} attribute: {}", attribute,
+                    () -> onElement(element, () -> waitForVisibilityOfElement(locator,elementName), el -> el.getAttribute(attribute)));
         } catch (StaleElementReferenceException e) {
             log.error("Element '{}' went stale cannot interact by locator {}",elementName,locator);
             throw new FrameworkException("Element '"+elementName+"' went stale",e);
@@ -318,8 +434,8 @@ public abstract class BasePage {
     protected String getAttribute(WebElement element,String elementName, String attribute){
         waitForVisibilityOfElement(element,elementName);
         try {
-            log.info("Getting attribute: {} from element: {}",attribute,elementName);
-            return element.getAttribute(attribute);
+            return step("Get attribute", elementName, "Getting attribute from element: {} attribute: {}", attribute,
+                    () -> element.getAttribute(attribute));
         } catch (StaleElementReferenceException e) {
             log.error("Element '{}' went stale cannot interact",elementName);
             throw new FrameworkException("Element "+elementName+" went stale",e);
@@ -333,9 +449,15 @@ public abstract class BasePage {
 
     protected void scrollIntoView(By locator,String elementName) {
         try {
-            log.info("Scrolling into view: {}", elementName);
-            WebElement element = driver.findElement(locator);
-            ((JavascriptExecutor) driver).executeScript("arguments[0].scrollIntoView(true);", element);
+            step("Scroll into view", elementName, "Scrolling into view: {}", () -> {
+                WebElement element = locatorCache.get(locator);
+                if (element == null) {
+                    element = driver.findElement(locator);
+                    locatorCache.put(locator, element);
+                }
+                return onElement(element, () -> driver.findElement(locator),
+                        el -> ((JavascriptExecutor) driver).executeScript("arguments[0].scrollIntoView(true);", el));
+            });
         } catch (JavascriptException e) {
             log.error("Element '{}' could not be scrolled into view by Javascript Executor by locator {}",elementName,locator);
             throw new FrameworkException("Element '"+elementName+"' could not be scrolled into view by Javascript Executor",e);
@@ -353,8 +475,8 @@ public abstract class BasePage {
 
     protected void scrollIntoView(WebElement element,String elementName) {
         try {
-            log.info("Scrolling into view: {}", elementName);
-            ((JavascriptExecutor) driver).executeScript("arguments[0].scrollIntoView(true);", element);
+            step("Scroll into view", elementName, "Scrolling into view: {}",
+                    () -> ((JavascriptExecutor) driver).executeScript("arguments[0].scrollIntoView(true);", element));
         } catch (JavascriptException e) {
             log.error("Element '{}' could not be scrolled into view by Javascript Executor",elementName);
             throw new FrameworkException("Element '"+elementName+"' could not be scrolled into view by Javascript Executor",e);
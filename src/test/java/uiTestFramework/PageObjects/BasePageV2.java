@@ -2,25 +2,36 @@ package uiTestFramework.PageObjects;
 
 import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.*;
-import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
+import uiTestFramework.Utilities.ActionMetrics;
+import uiTestFramework.Utilities.ActionTrace;
 import uiTestFramework.Utilities.FrameworkException;
+import uiTestFramework.config.Config;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.function.Function;
 
 public abstract class BasePageV2 {
 
-    private static final int DEFAULT_TIMEOUT = 10;
-
     protected Logger log;
     protected WebDriver driver;
     protected WebDriverWait wait;
 
+    private final ActionEngine actions;
+    private final BulkElementReader bulkReader;
+    private final BrowserWaits waits;
+
     public BasePageV2(WebDriver driver, Logger logger) {
         this.driver = driver;
         this.log = logger;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(DEFAULT_TIMEOUT));
+        this.wait = new WebDriverWait(driver, Duration.ofSeconds(Config.getConfigInstance().getTimeout()));
+        this.actions = new ActionEngine(driver);
+        this.bulkReader = new BulkElementReader(driver);
+        this.waits = new BrowserWaits(driver);
     }
 
     /* ============================================================
@@ -38,13 +49,92 @@ public abstract class BasePageV2 {
         } catch (Exception ignored) {}
     }
 
+    /**
+     * Tries an action as a single fused browser script. Returns false when the script did not act,
+     * including when the call failed before the script ran (e.g. a {@code @FindBy} element not yet
+     * rendered), in which case the caller falls back to wait + native events. A failure once the
+     * script may have clicked or typed, reported by the script itself or as an alert the click opened
+     * or a script timeout in a slow handler, throws instead, as repeating the action could do it twice.
+     */
+    private boolean tryFused(String action, String elementName, Callable<ActionEngine.Outcome> fusedLogic) {
+        if (!actions.isEnabled()) {
+            return false;
+        }
+        long start = System.nanoTime();
+        ActionEngine.Outcome outcome;
+        try {
+            outcome = fusedLogic.call();
+        } catch (ScriptTimeoutException | UnhandledAlertException e) {
+            throw notRetried(action, elementName, start, ActionMetrics.Outcome.of(e), e);
+        } catch (Exception e) {
+            // Raised handing the element to the script, e.g. a missing or stale element, before it ran
+            log.debug("Fused {} on '{}' failed before acting ({}), falling back to native events", action, elementName, e.getMessage());
+            record(action + " (fused)", elementName, System.nanoTime() - start, ActionMetrics.Outcome.FALLBACK);
+            return false;
+        }
+        if (outcome == ActionEngine.Outcome.DISPATCH_FAILED) {
+            throw notRetried(action, elementName, start, ActionMetrics.Outcome.ERROR, null);
+        }
+        if (outcome == ActionEngine.Outcome.DONE) {
+            record(action + " (fused)", elementName, System.nanoTime() - start, ActionMetrics.Outcome.SUCCESS);
+            step("✔ {} successful on '{}'", action, elementName);
+            return true;
+        }
+        log.debug("Fused {} on '{}' returned {}, falling back to native events", action, elementName, outcome);
+        record(action + " (fused)", elementName, System.nanoTime() - start, ActionMetrics.Outcome.FALLBACK);
+        return false;
+    }
+
+    private FrameworkException notRetried(String action, String elementName, long start, ActionMetrics.Outcome outcome, Exception cause) {
+        record(action + " (fused)", elementName, System.nanoTime() - start, outcome);
+        log.error("❌ {} on '{}' failed after it may already have happened, not retrying", action, elementName);
+        return new FrameworkException(action + " failed, not retried: " + elementName, cause);
+    }
+
+    /**
+     * Runs the logic and records its duration and outcome in {@link ActionMetrics} and the {@link ActionTrace}.
+     */
+    private <T> T measured(String action, String elementName, Callable<T> logic) throws Exception {
+        long start = System.nanoTime();
+        try {
+            T result = logic.call();
+            record(action, elementName, System.nanoTime() - start, ActionMetrics.Outcome.SUCCESS);
+            return result;
+        } catch (Exception e) {
+            record(action, elementName, System.nanoTime() - start, ActionMetrics.Outcome.of(e));
+            throw e;
+        }
+    }
+
+    private void record(String action, String elementName, long nanos, ActionMetrics.Outcome outcome) {
+        ActionMetrics.record(getClass(), elementName, action, nanos, outcome);
+        ActionTrace.record(getClass(), elementName, action, nanos, outcome);
+    }
+
+    /**
+     * Logs a step at INFO, unless it only goes to the {@link ActionTrace}.
+     */
+    private void step(String message, Object action, Object elementName) {
+        if (!ActionTrace.isEnabled()) {
+            log.info(message, action, elementName);
+        }
+    }
+
+    /**
+     * Runs a wait for an element to appear with the deadline learned for that element,
+     * see {@link TimeoutPolicy#await}.
+     */
+    private <T> T learnedWait(String elementName, Function<Duration, T> waitLogic) {
+        return TimeoutPolicy.await(getClass(), elementName, waitLogic);
+    }
+
     /**
      * Centralized wrapper for waits (visibility/clickable)
      */
     private <T> T safeWait(String action, String elementName, Callable<T> waitLogic) {
         try {
-            log.info("{}: {}", action, elementName);
-            return waitLogic.call();
+            step("{}: {}", action, elementName);
+            return measured(action, elementName, waitLogic);
 
         } catch (StaleElementReferenceException e) {
             log.error("❌ StaleElementReference: '{}' became stale during {}", elementName, action);
@@ -69,9 +159,9 @@ public abstract class BasePageV2 {
      */
     private void safeAction(String action, String elementName, Callable<Void> actionLogic) {
         try {
-            log.info("{} on '{}'", action, elementName);
-            actionLogic.call();
-            log.info("✔ {} successful on '{}'", action, elementName);
+            step("{} on '{}'", action, elementName);
+            measured(action, elementName, actionLogic);
+            step("✔ {} successful on '{}'", action, elementName);
 
         } catch (ElementClickInterceptedException e) {
             log.error("❌ Click intercepted on '{}'", elementName);
@@ -106,32 +196,32 @@ public abstract class BasePageV2 {
 
     protected WebElement waitForVisibilityOfElement(By locator, String elementName) {
         return safeWait("Wait for visibility", elementName,
-                () -> wait.until(ExpectedConditions.visibilityOfElementLocated(locator)));
+                () -> learnedWait(elementName, timeout -> waits.visible(locator, timeout)));
     }
 
     protected WebElement waitForVisibilityOfElement(WebElement element, String elementName) {
         return safeWait("Wait for visibility", elementName,
-                () -> wait.until(ExpectedConditions.visibilityOf(element)));
+                () -> learnedWait(elementName, timeout -> waits.visible(element, timeout)));
     }
 
     protected boolean waitForInvisibilityOfElement(By locator, String elementName) {
         return safeWait("Wait for invisibility", elementName,
-                () -> wait.until(ExpectedConditions.invisibilityOfElementLocated(locator)));
+                () -> waits.invisible(locator, Duration.ofSeconds(Config.getConfigInstance().getTimeout())));
     }
 
     protected boolean waitForInvisibilityOfElement(WebElement element, String elementName) {
         return safeWait("Wait for invisibility", elementName,
-                () -> wait.until(ExpectedConditions.invisibilityOf(element)));
+                () -> waits.invisible(element, Duration.ofSeconds(Config.getConfigInstance().getTimeout())));
     }
 
     protected WebElement waitForElementToBeClickable(By locator, String elementName) {
         return safeWait("Wait for clickable", elementName,
-                () -> wait.until(ExpectedConditions.elementToBeClickable(locator)));
+                () -> learnedWait(elementName, timeout -> waits.clickable(locator, timeout)));
     }
 
     protected WebElement waitForElementToBeClickable(WebElement element, String elementName) {
         return safeWait("Wait for clickable", elementName,
-                () -> wait.until(ExpectedConditions.elementToBeClickable(element)));
+                () -> learnedWait(elementName, timeout -> waits.clickable(element, timeout)));
     }
 
 
@@ -140,6 +230,9 @@ public abstract class BasePageV2 {
        ============================================================ */
 
     protected void clickOnElement(By locator, String elementName) {
+        if (tryFused("Click", elementName, () -> actions.click(locator))) {
+            return;
+        }
         WebElement element = waitForElementToBeClickable(locator, elementName);
 
         safeAction("Click", elementName, () -> {
@@ -150,6 +243,9 @@ public abstract class BasePageV2 {
     }
 
     protected void clickOnElement(WebElement element, String elementName) {
+        if (tryFused("Click", elementName, () -> actions.click(element))) {
+            return;
+        }
         waitForElementToBeClickable(element, elementName);
 
         safeAction("Click", elementName, () -> {
@@ -165,6 +261,9 @@ public abstract class BasePageV2 {
        ============================================================ */
 
     protected void javascriptClick(By locator, String elementName) {
+        if (tryFused("JS Click", elementName, () -> actions.javascriptClick(locator))) {
+            return;
+        }
         WebElement element = waitForElementToBeClickable(locator, elementName);
 
         safeAction("JS Click", elementName, () -> {
@@ -175,6 +274,9 @@ public abstract class BasePageV2 {
     }
 
     protected void javascriptClick(WebElement element, String elementName) {
+        if (tryFused("JS Click", elementName, () -> actions.javascriptClick(element))) {
+            return;
+        }
         waitForElementToBeClickable(element, elementName);
 
         safeAction("JS Click", elementName, () -> {
@@ -204,6 +306,9 @@ public abstract class BasePageV2 {
     }
 
     protected void enterText(By locator, String elementName, String textToEnter) {
+        if (tryFused("Enter text", elementName, () -> actions.setValue(locator, textToEnter))) {
+            return;
+        }
         WebElement element = waitForElementToBeClickable(locator, elementName);
 
         safeAction("Enter text", elementName, () -> {
@@ -214,6 +319,9 @@ public abstract class BasePageV2 {
     }
 
     protected void enterText(WebElement element, String elementName, String textToEnter) {
+        if (tryFused("Enter text", elementName, () -> actions.setValue(element, textToEnter))) {
+            return;
+        }
         waitForElementToBeClickable(element, elementName);
 
         safeAction("Enter text", elementName, () -> {
@@ -238,6 +346,84 @@ public abstract class BasePageV2 {
     }
 
 
+    /* ============================================================
+                     BULK READ & WRITE METHODS
+       ============================================================ */
+
+    /**
+     * Texts of every element matching the locator, read in one browser call once the first match is visible.
+     */
+    protected List<String> getTexts(By locator, String elementName) {
+        waitForVisibilityOfElement(locator, elementName);
+
+        return safeWait("Get texts", elementName,
+                () -> bulkReader.texts(locator));
+    }
+
+    protected List<String> getAttributes(By locator, String elementName, String attribute) {
+        waitForVisibilityOfElement(locator, elementName);
+
+        return safeWait("Get attribute '" + attribute + "' of all", elementName,
+                () -> bulkReader.attributes(locator, attribute));
+    }
+
+    /**
+     * Cell texts of every row of a table or grid, e.g. rows {@code .oxd-table-card} with cells
+     * {@code .oxd-table-cell}. The cell locator is applied relative to each row.
+     */
+    protected List<List<String>> getTableRows(By rowLocator, By cellLocator, String tableName) {
+        waitForVisibilityOfElement(rowLocator, tableName);
+
+        return safeWait("Get table rows", tableName,
+                () -> bulkReader.rows(rowLocator, cellLocator));
+    }
+
+    /**
+     * Same as {@link #getTableRows(By, By, String)} with every row converted into a typed object.
+     */
+    protected <T> List<T> getTableRows(By rowLocator, By cellLocator, String tableName, Function<List<String>, T> rowMapper) {
+        List<T> rows = new ArrayList<>();
+        for (List<String> cells : getTableRows(rowLocator, cellLocator, tableName)) {
+            rows.add(rowMapper.apply(cells));
+        }
+        return rows;
+    }
+
+    /**
+     * Fills every field of a form in one browser call, in map order. Fields the script could not
+     * set safely are entered one by one through {@link #enterText(By, String, String)}.
+     */
+    protected void fillFields(Map<By, String> fieldValues, String formName) {
+        List<Map.Entry<By, String>> fields = new ArrayList<>(fieldValues.entrySet());
+        List<ActionEngine.Outcome> outcomes = null;
+
+        if (actions.isEnabled()) {
+            try {
+                outcomes = actions.setValues(fields);
+            } catch (ScriptTimeoutException | UnhandledAlertException e) {
+                // Fields before the failing one may be set already, entering them again fires their events twice
+                log.error("❌ Bulk fill of '{}' failed after it may have set fields, not retrying: {}", formName, e.getMessage());
+                throw new FrameworkException("Bulk fill failed, not retried: " + formName, e);
+            } catch (Exception e) {
+                log.debug("Bulk fill of '{}' failed before setting fields ({}), entering them one by one", formName, e.getMessage());
+            }
+        }
+        if (outcomes != null && outcomes.contains(ActionEngine.Outcome.DISPATCH_FAILED)) {
+            Map.Entry<By, String> field = fields.get(outcomes.indexOf(ActionEngine.Outcome.DISPATCH_FAILED));
+            log.error("❌ Bulk fill of '{}' failed setting {}, not retrying", formName, field.getKey());
+            throw new FrameworkException("Bulk fill failed, not retried: " + formName + " field " + field.getKey());
+        }
+
+        for (int i = 0; i < fields.size(); i++) {
+            if (outcomes == null || outcomes.get(i) != ActionEngine.Outcome.DONE) {
+                Map.Entry<By, String> field = fields.get(i);
+                enterText(field.getKey(), formName + " field " + field.getKey(), field.getValue());
+            }
+        }
+        step("✔ Filled {} field(s) on '{}'", fields.size(), formName);
+    }
+
+
     /* ============================================================
                          SCROLL INTO VIEW
        ============================================================ */
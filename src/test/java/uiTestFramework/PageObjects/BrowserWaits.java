@@ -0,0 +1,171 @@
+package uiTestFramework.PageObjects;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedCondition;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.WebDriverWait;
+import uiTestFramework.config.Config;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Visibility, clickability and invisibility waits that resolve inside the browser the moment the
+ * DOM changes, through a MutationObserver installed with {@code executeAsyncScript}, instead of
+ * re-issuing WebDriver commands every 500 ms.
+ * <p>
+ * Locators the browser can not resolve itself, drivers without JavaScript, {@code waitMode=poll}
+ * and scripts torn down by a navigation fall back to polling with an adaptive backoff.
+ */
+final class BrowserWaits {
+
+    private static final Duration FIRST_POLL = Duration.ofMillis(25);
+    private static final Duration MAX_POLL = Duration.ofMillis(500);
+    private static final Duration SCRIPT_TIMEOUT_MARGIN = Duration.ofSeconds(2);
+
+    /** Script timeout already configured per session, so it is only sent when it has to grow. */
+    private static final Map<WebDriver, Duration> scriptTimeouts = new WeakHashMap<>();
+
+    private static final String WAIT_SCRIPT = ActionEngine.LOCATE_FUNCTIONS + """
+            var callback = arguments[arguments.length - 1];
+            var target = arguments[0], using = arguments[1], value = arguments[2];
+            var condition = arguments[3], timeout = arguments[4];
+            function isShown(el) {
+              if (!el || !el.isConnected) { return false; }
+              var style = window.getComputedStyle(el);
+              return el.getClientRects().length > 0 && style.visibility !== 'hidden'
+                  && style.display !== 'none' && style.opacity !== '0';
+            }
+            function check() {
+              if (target && !target.isConnected) {
+                return condition === 'invisible' ? {done: true, value: true} : {stale: true};
+              }
+              var el = target || locate(using, value);
+              if (condition === 'invisible') { return isShown(el) ? null : {done: true, value: true}; }
+              if (!isShown(el) || (condition === 'clickable' && el.disabled)) { return null; }
+              return {done: true, value: el};
+            }
+            var finished = false, delay = 25, poll, timer, observer;
+            function finish(result) {
+              if (finished) { return; }
+              finished = true;
+              if (observer) { observer.disconnect(); }
+              clearTimeout(poll);
+              clearTimeout(timer);
+              callback(result);
+            }
+            function evaluate() {
+              var result = check();
+              if (result) { finish(result); }
+            }
+            evaluate();
+            if (!finished) {
+              observer = new MutationObserver(evaluate);
+              observer.observe(document, {subtree: true, childList: true, attributes: true, characterData: true});
+              // Backoff poll for what mutations do not reveal, e.g. CSS transitions and layout changes
+              var backoff = function () {
+                evaluate();
+                if (!finished) { delay = Math.min(delay * 2, 500); poll = setTimeout(backoff, delay); }
+              };
+              poll = setTimeout(backoff, delay);
+              timer = setTimeout(function () { finish({timeout: true}); }, timeout);
+            }
+            """;
+
+    private final WebDriver driver;
+
+    BrowserWaits(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    WebElement visible(By locator, Duration timeout) {
+        return (WebElement) await(null, locator, "visible", timeout, ExpectedConditions.visibilityOfElementLocated(locator));
+    }
+
+    WebElement visible(WebElement element, Duration timeout) {
+        return (WebElement) await(element, null, "visible", timeout, ExpectedConditions.visibilityOf(element));
+    }
+
+    WebElement clickable(By locator, Duration timeout) {
+        return (WebElement) await(null, locator, "clickable", timeout, ExpectedConditions.elementToBeClickable(locator));
+    }
+
+    WebElement clickable(WebElement element, Duration timeout) {
+        return (WebElement) await(element, null, "clickable", timeout, ExpectedConditions.elementToBeClickable(element));
+    }
+
+    boolean invisible(By locator, Duration timeout) {
+        return (Boolean) await(null, locator, "invisible", timeout, ExpectedConditions.invisibilityOfElementLocated(locator));
+    }
+
+    boolean invisible(WebElement element, Duration timeout) {
+        return (Boolean) await(element, null, "invisible", timeout, ExpectedConditions.invisibilityOf(element));
+    }
+
+    private Object await(WebElement element, By locator, String condition, Duration timeout, ExpectedCondition<?> fallback) {
+        Object[] browserLocator = locator == null ? null : ActionEngine.toBrowserLocator(locator);
+        boolean eventDriven = driver instanceof JavascriptExecutor
+                && Config.getConfigInstance().isEventDrivenWaitEnabled()
+                && (element != null || browserLocator != null);
+        if (!eventDriven) {
+            return poll(fallback, timeout);
+        }
+
+        long start = System.nanoTime();
+        Map<?, ?> result;
+        try {
+            ensureScriptTimeout(timeout);
+            result = (Map<?, ?>) ((JavascriptExecutor) driver).executeAsyncScript(WAIT_SCRIPT,
+                    element,
+                    browserLocator == null ? null : browserLocator[0],
+                    browserLocator == null ? null : browserLocator[1],
+                    condition,
+                    timeout.toMillis());
+        } catch (StaleElementReferenceException | TimeoutException e) {
+            throw e;
+        } catch (WebDriverException e) {
+            // Typically the document was unloaded while waiting, poll for the time that is left
+            Duration left = timeout.minusNanos(System.nanoTime() - start);
+            return poll(fallback, left.isNegative() ? Duration.ZERO : left);
+        }
+
+        if (Boolean.TRUE.equals(result.get("stale"))) {
+            throw new StaleElementReferenceException("Element went stale while waiting for it to be " + condition);
+        }
+        if (Boolean.TRUE.equals(result.get("timeout"))) {
+            throw new TimeoutException("Expected condition failed: waiting for " + (locator != null ? locator : "element")
+                    + " to be " + condition + " (tried for " + timeout.toMillis() + " ms)");
+        }
+        return result.get("value");
+    }
+
+    /**
+     * Polls the condition, starting at 25 ms between attempts and doubling up to 500 ms.
+     */
+    private <T> T poll(ExpectedCondition<T> condition, Duration timeout) {
+        Duration[] next = {FIRST_POLL};
+        return new WebDriverWait(driver, timeout, FIRST_POLL, Clock.systemDefaultZone(), ignored -> {
+            Thread.sleep(next[0].toMillis());
+            next[0] = next[0].multipliedBy(2).compareTo(MAX_POLL) > 0 ? MAX_POLL : next[0].multipliedBy(2);
+        }).until(condition);
+    }
+
+    private void ensureScriptTimeout(Duration timeout) {
+        Duration needed = timeout.plus(SCRIPT_TIMEOUT_MARGIN);
+        synchronized (scriptTimeouts) {
+            Duration current = scriptTimeouts.get(driver);
+            if (current == null || current.compareTo(needed) < 0) {
+                driver.manage().timeouts().scriptTimeout(needed);
+                scriptTimeouts.put(driver, needed);
+            }
+        }
+    }
+}
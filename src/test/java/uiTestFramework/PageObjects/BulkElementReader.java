@@ -0,0 +1,148 @@
+package uiTestFramework.PageObjects;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads texts, attributes or whole table rows of every element matching a locator with a single
+ * script call, instead of one WebDriver roundtrip per element (or per cell).
+ * <p>
+ * Locators the browser can resolve (css, xpath, tag name) are matched inside the script. Any other
+ * locator costs one extra {@code findElements} call, the reads themselves are still one call.
+ * Drivers without JavaScript read the elements one by one.
+ */
+final class BulkElementReader {
+
+    private static final String MATCHES = ActionEngine.LOCATE_FUNCTIONS + """
+            var matches = arguments[0] ? arguments[0] : locateAll(arguments[1], arguments[2]);
+            function textOf(el) { return (el.innerText || el.textContent || '').trim(); }
+            """;
+
+    private static final String TEXTS_SCRIPT = MATCHES + """
+            return matches.map(textOf);
+            """;
+
+    // Mirrors WebElement.getAttribute: boolean attributes are "true" or null, links and images give
+    // their resolved url, otherwise a simple property wins over the attribute of the same name
+    private static final String ATTRIBUTES_SCRIPT = MATCHES + """
+            var BOOLEAN_ATTRIBUTES = ['allowfullscreen', 'async', 'autofocus', 'autoplay', 'checked', 'compact',
+                'complete', 'controls', 'declare', 'default', 'defaultchecked', 'defaultselected', 'defer', 'disabled',
+                'ended', 'formnovalidate', 'hidden', 'indeterminate', 'iscontenteditable', 'ismap', 'itemscope',
+                'loop', 'multiple', 'muted', 'nohref', 'nomodule', 'noresize', 'noshade', 'novalidate', 'nowrap',
+                'open', 'paused', 'playsinline', 'pubdate', 'readonly', 'required', 'reversed', 'scoped', 'seamless',
+                'seeking', 'selected', 'truespeed', 'typemustmatch', 'willvalidate'];
+            var ALIASES = {'class': 'className', 'readonly': 'readOnly', 'ismap': 'isMap', 'nohref': 'noHref',
+                'noresize': 'noResize', 'noshade': 'noShade', 'nowrap': 'noWrap', 'novalidate': 'noValidate',
+                'formnovalidate': 'formNoValidate', 'defaultchecked': 'defaultChecked', 'defaultselected': 'defaultSelected',
+                'iscontenteditable': 'isContentEditable', 'willvalidate': 'willValidate', 'truespeed': 'trueSpeed'};
+            var name = arguments[3];
+            var lower = name.toLowerCase();
+            return matches.map(function (el) {
+              var tag = el.tagName.toLowerCase();
+              if (lower === 'style') { return el.style.cssText; }
+              if ((lower === 'selected' || lower === 'checked')
+                  && (tag === 'option' || (tag === 'input' && (el.type === 'checkbox' || el.type === 'radio')))) {
+                return (tag === 'option' ? el.selected : el.checked) ? 'true' : null;
+              }
+              if ((tag === 'a' && lower === 'href') || (tag === 'img' && lower === 'src')) {
+                return el.getAttribute(lower) === null ? null : String(el[lower]);
+              }
+              var property = el[ALIASES[lower] || name];
+              if (BOOLEAN_ATTRIBUTES.indexOf(lower) >= 0) {
+                return el.getAttribute(name) !== null || property === true ? 'true' : null;
+              }
+              if (property !== undefined && property !== null && typeof property !== 'object' && typeof property !== 'function') {
+                return String(property);
+              }
+              return el.getAttribute(name);
+            });
+            """;
+
+    private static final String ROWS_SCRIPT = MATCHES + """
+            var cellUsing = arguments[3], cellValue = arguments[4];
+            return matches.map(function (row) {
+              return locateAll(cellUsing, cellValue, row).map(textOf);
+            });
+            """;
+
+    private final WebDriver driver;
+
+    BulkElementReader(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    List<String> texts(By locator) {
+        if (!(driver instanceof JavascriptExecutor)) {
+            return textsOf(driver.findElements(locator));
+        }
+        return toStrings(run(TEXTS_SCRIPT, locator));
+    }
+
+    List<String> attributes(By locator, String attribute) {
+        if (!(driver instanceof JavascriptExecutor)) {
+            List<String> values = new ArrayList<>();
+            for (WebElement element : driver.findElements(locator)) {
+                values.add(element.getAttribute(attribute));
+            }
+            return values;
+        }
+        return toStrings(run(ATTRIBUTES_SCRIPT, locator, attribute));
+    }
+
+    /**
+     * Reads the text of every cell of every row. The cell locator is applied relative to each row,
+     * so it has to be something the browser can resolve (css, a relative xpath like {@code ./td} or a tag name).
+     */
+    List<List<String>> rows(By rowLocator, By cellLocator) {
+        Object[] cell = ActionEngine.toBrowserLocator(cellLocator);
+        if (cell == null) {
+            throw new IllegalArgumentException("Cell locator must be a css selector, xpath or tag name: " + cellLocator);
+        }
+
+        List<List<String>> rows = new ArrayList<>();
+        if (!(driver instanceof JavascriptExecutor)) {
+            for (WebElement row : driver.findElements(rowLocator)) {
+                rows.add(textsOf(row.findElements(cellLocator)));
+            }
+            return rows;
+        }
+        for (Object row : (List<?>) run(ROWS_SCRIPT, rowLocator, cell[0], cell[1])) {
+            rows.add(toStrings(row));
+        }
+        return rows;
+    }
+
+    private Object run(String script, By locator, Object... extraArgs) {
+        Object[] browserLocator = ActionEngine.toBrowserLocator(locator);
+        List<WebElement> elements = browserLocator == null ? driver.findElements(locator) : null;
+
+        Object[] args = new Object[3 + extraArgs.length];
+        args[0] = elements;
+        args[1] = browserLocator == null ? null : browserLocator[0];
+        args[2] = browserLocator == null ? null : browserLocator[1];
+        System.arraycopy(extraArgs, 0, args, 3, extraArgs.length);
+
+        return ((JavascriptExecutor) driver).executeScript(script, args);
+    }
+
+    private static List<String> textsOf(List<WebElement> elements) {
+        List<String> texts = new ArrayList<>();
+        for (WebElement element : elements) {
+            texts.add(element.getText());
+        }
+        return texts;
+    }
+
+    private static List<String> toStrings(Object result) {
+        List<String> values = new ArrayList<>();
+        for (Object value : (List<?>) result) {
+            values.add(value == null ? null : String.valueOf(value));
+        }
+        return values;
+    }
+}
@@ -0,0 +1,68 @@
+package uiTestFramework.PageObjects;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per page object cache of resolved elements keyed by locator. A page object is bound to one
+ * driver, so the cache is per session as well. Entries are dropped on navigation or as soon as
+ * any cached element turns out to be stale, since that usually means the document changed.
+ */
+public final class LocatorCache {
+
+    private static final AtomicLong totalHits = new AtomicLong();
+    private static final AtomicLong totalMisses = new AtomicLong();
+    private static final AtomicLong totalInvalidations = new AtomicLong();
+
+    private final Map<By, WebElement> elements = new ConcurrentHashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    WebElement get(By locator) {
+        WebElement element = elements.get(locator);
+        if (element != null) {
+            hits.incrementAndGet();
+            totalHits.incrementAndGet();
+        } else {
+            misses.incrementAndGet();
+            totalMisses.incrementAndGet();
+        }
+        return element;
+    }
+
+    void put(By locator, WebElement element) {
+        elements.put(locator, element);
+    }
+
+    void remove(By locator) {
+        elements.remove(locator);
+    }
+
+    void invalidate() {
+        if (!elements.isEmpty()) {
+            elements.clear();
+            totalInvalidations.incrementAndGet();
+        }
+    }
+
+    String stats() {
+        return format(hits.get(), misses.get());
+    }
+
+    /**
+     * Hit and miss counts over every page object of the run.
+     */
+    public static String globalStats() {
+        return format(totalHits.get(), totalMisses.get()) + ", invalidations=" + totalInvalidations.get();
+    }
+
+    private static String format(long hits, long misses) {
+        long lookups = hits + misses;
+        long hitRate = lookups == 0 ? 0 : Math.round(hits * 100.0 / lookups);
+        return "hits=" + hits + ", misses=" + misses + " (" + hitRate + "% hit rate)";
+    }
+}
@@ -6,6 +6,7 @@ import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
 import org.openqa.selenium.support.PageFactory;
 import uiTestFramework.Utilities.LoggerUtil;
+import uiTestFramework.config.Config;
 
 public class OrangeHrmLoginPage extends BasePageV2{
 
@@ -38,5 +39,27 @@ public class OrangeHrmLoginPage extends BasePageV2{
         clickOnElement(loginBtn,"Login Button");
     }
 
+    /**
+     * Logs in through the form and waits until the application has left the login page.
+     */
+    public void login(String username, String password){
+        String loginUrl = driver.getCurrentUrl();
+        enterUserName(username);
+        enterPassword(password);
+        clickOnLoginBtn();
+        wait.until(d -> !d.getCurrentUrl().equals(loginUrl));
+        log.info("Logged in as {}", username);
+    }
+
+    /**
+     * Logs in as the configured user, reusing the session of an earlier login in this environment
+     * when it is still valid. For tests that need to be logged in, not for testing the login itself.
+     */
+    public static void loginAsConfiguredUser(WebDriver driver){
+        Config config = Config.getConfigInstance();
+        SessionStateCache.login(driver, config.getUsername(), config.getPassword(),
+                (browser, username, password) -> new OrangeHrmLoginPage(browser).login(username, password));
+    }
+
 
 }
@@ -0,0 +1,212 @@
+package uiTestFramework.PageObjects;
+
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import uiTestFramework.Utilities.FrameworkException;
+import uiTestFramework.Utilities.LoggerUtil;
+import uiTestFramework.config.Config;
+import uiTestFramework.config.EnvironmentType;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Logs a user in through the UI once per environment and then hands the captured cookies,
+ * local and session storage to every other browser that needs that user, instead of typing the
+ * credentials again. An injected session is checked by opening the page the login landed on;
+ * when the application sends the browser back to the login page, or the snapshot is older than
+ * {@code sessionStateTtlMinutes} or has an expired cookie, the UI login runs again and replaces it.
+ * <p>
+ * Parallel tests asking for the same user wait for the one login in progress rather than all
+ * logging in themselves.
+ */
+public final class SessionStateCache {
+
+    private static final Logger log = LoggerUtil.getLogger(SessionStateCache.class);
+
+    private static final Map<Key, CompletableFuture<Snapshot>> snapshots = new ConcurrentHashMap<>();
+
+    private static final String CAPTURE_STORAGE_SCRIPT =
+            "var dump = function (storage) {" +
+            "  var entries = {};" +
+            "  for (var i = 0; i < storage.length; i++) { var key = storage.key(i); entries[key] = storage.getItem(key); }" +
+            "  return entries;" +
+            "};" +
+            "return {local: dump(window.localStorage), session: dump(window.sessionStorage)};";
+
+    private static final String RESTORE_STORAGE_SCRIPT =
+            "var local = arguments[0], session = arguments[1];" +
+            "for (var key in local) { window.localStorage.setItem(key, local[key]); }" +
+            "for (var key in session) { window.sessionStorage.setItem(key, session[key]); }";
+
+    private SessionStateCache(){
+        //prevent instantiation
+    }
+
+    /**
+     * Performs the UI login of an application on a browser that shows its login page, and
+     * returns once the user is logged in.
+     */
+    @FunctionalInterface
+    public interface LoginFlow {
+        void login(WebDriver driver, String username, String password);
+    }
+
+    /**
+     * Leaves {@code driver} logged in as {@code username}, from the cached session when there is
+     * a valid one and through {@code flow} otherwise.
+     */
+    public static void login(WebDriver driver, String username, String password, LoginFlow flow){
+        login(driver, Config.getConfigInstance().getBaseUrl(), username, password, flow);
+    }
+
+    /**
+     * Same for an application whose login page is at {@code loginUrl} rather than the base url.
+     */
+    public static void login(WebDriver driver, String loginUrl, String username, String password, LoginFlow flow){
+        Config config = Config.getConfigInstance();
+        if (!config.isSessionStateCacheEnabled()) {
+            flow.login(driver, username, password);
+            return;
+        }
+
+        Key key = new Key(config.getEnvironment(), username);
+        for (int attempt = 0; attempt < 2; attempt++) {
+            CompletableFuture<Snapshot> mine = new CompletableFuture<>();
+            CompletableFuture<Snapshot> cached = snapshots.putIfAbsent(key, mine);
+            if (cached == null) {
+                // This test does the login, everyone else asking for the user meanwhile waits for it
+                loginAndCapture(driver, loginUrl, username, password, flow, key, mine);
+                return;
+            }
+
+            Snapshot snapshot = await(cached, key);
+            if (snapshot != null && !snapshot.isExpired(config.getSessionStateTtlMinutes()) && restore(driver, loginUrl, snapshot)) {
+                log.debug("Restored cached session of {} in {}", username, key.environment());
+                return;
+            }
+            if (snapshot != null) {
+                log.info("Cached session of {} in {} is no longer valid, logging in again", username, key.environment());
+            }
+            snapshots.remove(key, cached);
+        }
+        showLoginPage(driver, loginUrl);
+        flow.login(driver, username, password);
+    }
+
+    /**
+     * Drops every snapshot, e.g. after a test changed a password.
+     */
+    public static void clear(){
+        snapshots.clear();
+    }
+
+    private static void loginAndCapture(WebDriver driver, String loginUrl, String username, String password, LoginFlow flow,
+                                        Key key, CompletableFuture<Snapshot> future){
+        try {
+            showLoginPage(driver, loginUrl);
+            flow.login(driver, username, password);
+        } catch (RuntimeException e) {
+            // Nothing to share, the next test asking for the user tries again
+            snapshots.remove(key, future);
+            future.complete(null);
+            throw e;
+        }
+        try {
+            future.complete(capture(driver));
+            log.info("Captured session of {} in {} for reuse", username, key.environment());
+        } catch (WebDriverException e) {
+            System.err.println("Warn: Could not capture session of " + username + ": " + e.getMessage());
+            snapshots.remove(key, future);
+            future.complete(null);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Snapshot capture(WebDriver driver){
+        Map<String, Map<String, String>> storage =
+                (Map<String, Map<String, String>>) ((JavascriptExecutor) driver).executeScript(CAPTURE_STORAGE_SCRIPT);
+        return new Snapshot(driver.manage().getCookies(), storage.get("local"), storage.get("session"),
+                driver.getCurrentUrl(), System.currentTimeMillis());
+    }
+
+    /**
+     * Injects the snapshot and opens the page the login landed on. False when the application
+     * does not accept the session any more.
+     */
+    private static boolean restore(WebDriver driver, String loginUrl, Snapshot snapshot){
+        try {
+            // Cookies and storage can only be set for the origin the browser is on
+            if (!sameOrigin(driver.getCurrentUrl(), loginUrl)) {
+                driver.get(loginUrl);
+            }
+            for (Cookie cookie : snapshot.cookies()) {
+                driver.manage().addCookie(cookie);
+            }
+            ((JavascriptExecutor) driver).executeScript(RESTORE_STORAGE_SCRIPT, snapshot.localStorage(), snapshot.sessionStorage());
+            driver.get(snapshot.landingUrl());
+            return !driver.getCurrentUrl().startsWith(loginUrl);
+        } catch (WebDriverException e) {
+            log.debug("Restoring cached session failed: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * A failed restore can leave the browser anywhere, the UI login needs the login page.
+     */
+    private static void showLoginPage(WebDriver driver, String loginUrl){
+        if (!driver.getCurrentUrl().startsWith(loginUrl)) {
+            driver.get(loginUrl);
+        }
+    }
+
+    private static boolean sameOrigin(String url, String other){
+        int end = url.indexOf('/', url.indexOf("//") + 2);
+        return end > 0 && other.startsWith(url.substring(0, end + 1));
+    }
+
+    private static Snapshot await(CompletableFuture<Snapshot> future, Key key){
+        try {
+            return future.get(Config.getConfigInstance().getTimeout() * 3L, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new FrameworkException("Interrupted while waiting for the login of " + key.username(), e);
+        } catch (ExecutionException | TimeoutException e) {
+            // Login of the other test stuck or failed, log in separately
+            Throwable cause = e instanceof ExecutionException ? e.getCause() : e;
+            log.debug("Waiting for the login of {} failed: {}", key.username(), cause.toString());
+            return null;
+        }
+    }
+
+    private record Key(EnvironmentType environment, String username) {
+    }
+
+    private record Snapshot(Set<Cookie> cookies, Map<String, String> localStorage, Map<String, String> sessionStorage,
+                            String landingUrl, long capturedAt) {
+
+        boolean isExpired(long ttlMinutes){
+            long now = System.currentTimeMillis();
+            if (now - capturedAt > TimeUnit.MINUTES.toMillis(ttlMinutes)) {
+                return true;
+            }
+            for (Cookie cookie : cookies) {
+                Date expiry = cookie.getExpiry();
+                if (expiry != null && expiry.getTime() <= now) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
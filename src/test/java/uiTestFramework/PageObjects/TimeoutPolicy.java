@@ -0,0 +1,246 @@
+package uiTestFramework.PageObjects;
+
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.TimeoutException;
+import uiTestFramework.Utilities.LoggerUtil;
+import uiTestFramework.config.Config;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+/**
+ * Derives a wait deadline per element from how long that element actually took to appear in
+ * earlier waits: p99 of the recorded samples times a safety factor, clamped between
+ * {@code learnedTimeoutMinMillis} and the configured {@code timeout}. Elements with too little
+ * history get the configured timeout. A wait fails at its learned deadline and timed out waits are not
+ * recorded, so a missing element costs the learned deadline and does not push it up. About one wait
+ * in {@code learnedTimeoutProbeEvery} per element waits the configured timeout instead and records how
+ * long the element really took, so the deadline grows again when the application gets slower (0 never probes).
+ * <p>
+ * Samples are kept per (environment, browser, page class, element name) and persisted to {@code timeout-history.properties}
+ * in the framework cache dir, so the deadlines carry over between runs. Saving merges this JVM's new
+ * samples into the file under a lock, so shards sharing the cache dir do not drop each other's.
+ */
+public final class TimeoutPolicy {
+
+    private static final Logger log = LoggerUtil.getLogger(TimeoutPolicy.class);
+
+    private static final String HISTORY_FILE_NAME = "timeout-history.properties";
+    private static final int MAX_SAMPLES = 100;
+
+    private static final Map<String, Samples> history = new ConcurrentHashMap<>();
+    /** Samples recorded in this JVM, the only ones it writes back. */
+    private static final Map<String, Samples> recorded = new ConcurrentHashMap<>();
+    private static volatile boolean loaded = false;
+
+    private TimeoutPolicy(){
+        //prevent instantiation
+    }
+
+    /**
+     * Runs a wait for an element to appear with the deadline learned for that element and records
+     * how long it actually took. A timeout is thrown as is and not recorded.
+     */
+    static <T> T await(Class<?> page, String elementName, Function<Duration, T> waitLogic){
+        Duration timeout = timeoutFor(page, elementName);
+        long start = System.nanoTime();
+        try {
+            T result = waitLogic.apply(timeout);
+            record(page, elementName, Duration.ofNanos(System.nanoTime() - start));
+            return result;
+        } catch (TimeoutException e) {
+            Duration max = Duration.ofSeconds(Config.getConfigInstance().getTimeout());
+            if (timeout.compareTo(max) < 0) {
+                log.warn("'{}' on {} not there within its learned {} ms", elementName, page.getSimpleName(), timeout.toMillis());
+            }
+            throw e;
+        }
+    }
+
+    private static Duration timeoutFor(Class<?> page, String elementName){
+        Config config = Config.getConfigInstance();
+        Duration max = Duration.ofSeconds(config.getTimeout());
+        if (!config.isLearnedTimeoutEnabled()) {
+            return max;
+        }
+
+        Samples samples = history().get(key(page, elementName));
+        if (samples == null || samples.size() < config.getLearnedTimeoutMinSamples()) {
+            return max;
+        }
+
+        int probeEvery = config.getLearnedTimeoutProbeEvery();
+        if (probeEvery > 0 && ThreadLocalRandom.current().nextInt(probeEvery) == 0) {
+            // A probe: lets a sample slower than the learned deadline in
+            log.debug("Probing '{}' on {} with the configured timeout", elementName, page.getSimpleName());
+            return max;
+        }
+
+        long learned = (long) (samples.percentile(0.99) * config.getLearnedTimeoutSafetyFactor());
+        long clamped = Math.max(config.getLearnedTimeoutMinMillis(), Math.min(learned, max.toMillis()));
+        return Duration.ofMillis(clamped);
+    }
+
+    private static void record(Class<?> page, String elementName, Duration took){
+        if (Config.getConfigInstance().isLearnedTimeoutEnabled()) {
+            String key = key(page, elementName);
+            history().computeIfAbsent(key, k -> new Samples()).add(took.toMillis());
+            recorded.computeIfAbsent(key, k -> new Samples()).add(took.toMillis());
+        }
+    }
+
+    /**
+     * Writes the samples recorded in this JVM to disk, to be called once at the end of the suite.
+     * The file is re-read under a lock first and the new samples appended to what is there.
+     */
+    public static void save(){
+        if (recorded.isEmpty()) {
+            return;
+        }
+        Path file = historyFile();
+        try {
+            Files.createDirectories(file.getParent());
+            try (FileChannel lock = FileChannel.open(file.resolveSibling(HISTORY_FILE_NAME + ".lock"),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                 FileLock ignored = lock.lock()) {
+                Properties properties = read(file);
+                for (Map.Entry<String, Samples> entry : recorded.entrySet()) {
+                    Samples merged = Samples.parse(properties.getProperty(entry.getKey(), ""));
+                    merged.addAll(entry.getValue());
+                    properties.setProperty(entry.getKey(), merged.serialize());
+                }
+
+                Path temp = Files.createTempFile(file.getParent(), HISTORY_FILE_NAME, ".tmp");
+                try (OutputStream out = Files.newOutputStream(temp)) {
+                    properties.store(out, "Element wait durations in ms, most recent last");
+                }
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+            log.info("Saved wait history of {} element(s) to {}", recorded.size(), file);
+        } catch (IOException e) {
+            System.err.println("Warn: Could not save timeout history " + file + ": " + e.getMessage());
+        }
+    }
+
+    private static Map<String, Samples> history(){
+        if (!loaded) {
+            synchronized (TimeoutPolicy.class) {
+                if (!loaded) {
+                    load();
+                    loaded = true;
+                }
+            }
+        }
+        return history;
+    }
+
+    private static void load(){
+        Properties properties;
+        try {
+            properties = read(historyFile());
+        } catch (IOException e) {
+            System.err.println("Warn: Could not read timeout history " + historyFile() + ": " + e.getMessage());
+            return;
+        }
+        for (String key : properties.stringPropertyNames()) {
+            history.put(key, Samples.parse(properties.getProperty(key)));
+        }
+    }
+
+    private static Properties read(Path file) throws IOException {
+        Properties properties = new Properties();
+        if (Files.exists(file)) {
+            try (InputStream in = Files.newInputStream(file)) {
+                properties.load(in);
+            }
+        }
+        return properties;
+    }
+
+    private static Path historyFile(){
+        return Path.of(Config.getConfigInstance().getCacheDir(), HISTORY_FILE_NAME);
+    }
+
+    /**
+     * e.g. {@code QA.CHROME.uiTestFramework.PageObjects.OrangeHrmLoginPage.Username}. The config is the
+     * current matrix cell's, if any.
+     */
+    private static String key(Class<?> page, String elementName){
+        Config config = Config.getConfigInstance();
+        return config.getEnvironment() + "." + config.getBrowser() + "." + page.getName() + "." + elementName;
+    }
+
+    /**
+     * Ring buffer of the most recent {@link #MAX_SAMPLES} durations in ms.
+     */
+    private static final class Samples {
+
+        private final long[] values = new long[MAX_SAMPLES];
+        private int count;
+        private int next;
+
+        synchronized void add(long millis){
+            values[next] = millis;
+            next = (next + 1) % MAX_SAMPLES;
+            count = Math.min(count + 1, MAX_SAMPLES);
+        }
+
+        static Samples parse(String serialized){
+            Samples samples = new Samples();
+            for (String value : serialized.split(",")) {
+                if (!value.isBlank()) {
+                    samples.add(Long.parseLong(value.trim()));
+                }
+            }
+            return samples;
+        }
+
+        /**
+         * Appends the other samples, oldest first.
+         */
+        void addAll(Samples other){
+            for (String value : other.serialize().split(",")) {
+                if (!value.isEmpty()) {
+                    add(Long.parseLong(value));
+                }
+            }
+        }
+
+        synchronized int size(){
+            return count;
+        }
+
+        synchronized long percentile(double percentile){
+            long[] sorted = Arrays.copyOf(values, count);
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(percentile * count) - 1;
+            return sorted[Math.max(0, Math.min(index, count - 1))];
+        }
+
+        synchronized String serialize(){
+            StringBuilder builder = new StringBuilder();
+            for (int i = 0; i < count; i++) {
+                int index = (next - count + i + MAX_SAMPLES) % MAX_SAMPLES;
+                if (i > 0) {
+                    builder.append(',');
+                }
+                builder.append(values[index]);
+            }
+            return builder.toString();
+        }
+    }
+}
@@ -1,18 +1,31 @@
 package uiTestFramework.TestClasses;
 
 
+import com.aventstack.extentreports.Status;
 import org.apache.logging.log4j.Logger;
 import org.testng.ITestContext;
 import org.testng.annotations.*;
+import org.testng.xml.XmlTest;
+import uiTestFramework.DriverManager.BrowserSlots;
 import uiTestFramework.DriverManager.DriverManager;
+import uiTestFramework.PageObjects.LocatorCache;
+import uiTestFramework.PageObjects.TimeoutPolicy;
 
+import uiTestFramework.Utilities.ActionMetrics;
 import uiTestFramework.Utilities.LoggerUtil;
+import uiTestFramework.Utilities.ScreenshotUtil;
+import uiTestFramework.Utilities.TestContext;
 import uiTestFramework.config.Config;
+import uiTestFramework.config.MatrixCell;
+import uiTestFramework.config.SessionScope;
 import uiTestFramework.extentReportManagers.ExtentManager;
 import uiTestFramework.extentReportManagers.ExtentTestManager;
+import uiTestFramework.listeners.TestHistory;
 import uiTestFramework.listeners.TestListener;
 
+import java.io.IOException;
 import java.lang.reflect.Method;
+import java.util.List;
 
 @Listeners({TestListener.class})
 public abstract class BaseTest{
@@ -25,28 +38,104 @@ public abstract class BaseTest{
         ExtentManager.createInstance(suiteName);// Initialize report
     }
 
-    @BeforeMethod
-    public void setup(Method method) {
-
-        DriverManager.setDriver();
-        // Log specifically using the thread-safe driver
-        LoggerUtil.getLogger(BaseTest.class).info("Driver started for: " + method.getName());
+    /**
+     * Pre-warms a browser per worker thread of the &lt;test&gt;, at most its share of the browser slots.
+     * Lives in @BeforeTest since TestNG does not inject the ITestContext into @BeforeSuite methods;
+     * warming up again for the next &lt;test&gt; of the same browser is a no-op.
+     */
+    @BeforeTest(alwaysRun = true)
+    public void warmUpSessions(ITestContext context) {
+        Config config = Config.getConfigInstance();
+        if (config.isSessionPrewarmEnabled()) {
+            XmlTest xmlTest = context.getCurrentXmlTest();
+            MatrixCell cell = MatrixCell.of(xmlTest);
+            int workers = xmlTest.getParallel().isParallel() ? xmlTest.getThreadCount() : 1;
+            int slots = Math.max(1, BrowserSlots.capacity() / Math.max(1, config.getMatrix().size()));
+            DriverManager.warmUp(cell == null ? config : Config.forCell(cell), config.getPrewarmSessions(Math.min(workers, slots)));
+        }
+    }
 
-        // Use the getter directly
-        DriverManager.getDriver().get(Config.getConfigInstance().getBaseUrl());
+    @BeforeMethod
+    public void setup(Method method, ITestContext context) {
+        SessionScope scope = getSessionScope();
+        MatrixCell cell = MatrixCell.of(context.getCurrentXmlTest());
+        Config.bindCell(cell);
+
+        // The browser itself is only provisioned on the first DriverManager.getDriver() call
+        switch (scope) {
+            case METHOD -> DriverManager.bindScope(null);
+            case CLASS -> DriverManager.bindScope(scopeOwner(getClass(), cell));
+            case SUITE -> DriverManager.bindScope(scopeOwner(SessionScope.SUITE, cell));
+        }
+        log.info("{} scoped browser session bound for: {}{}", scope, method.getName(), cell == null ? "" : " [" + cell.label() + "]");
     }
 
     @AfterMethod
     public void tearDown() {
-        log.info("Closing WebDriver");
-        DriverManager.quitDriver();
-        log.info("WebDriver Closed");
+        if (getSessionScope() == SessionScope.METHOD) {
+            log.info("Releasing WebDriver");
+            DriverManager.releaseDriver();
+            log.info("WebDriver Released");
+        } else {
+            // Kept for the next test of this class or suite, whichever thread runs it
+            DriverManager.parkDriver();
+        }
         ExtentTestManager.endTest();
+        TestContext.close();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void tearDownClass(ITestContext context) {
+        if (getSessionScope() == SessionScope.CLASS) {
+            log.info("Releasing class scoped WebDriver for: {}", getClass().getSimpleName());
+            DriverManager.releaseDriver(scopeOwner(getClass(), MatrixCell.of(context.getCurrentXmlTest())));
+        }
+    }
+
+    /**
+     * Sessions are shared per class or suite and, in a matrix run, per cell as well.
+     */
+    private static Object scopeOwner(Object scope, MatrixCell cell) {
+        return cell == null ? scope : List.of(scope, cell);
+    }
+
+    protected SessionScope getSessionScope() {
+        BrowserSession browserSession = getClass().getAnnotation(BrowserSession.class);
+        return browserSession != null ? browserSession.value() : Config.getConfigInstance().getSessionScope();
     }
 
     @AfterSuite
     public void flushSuite() {
-        ExtentManager.getExtent().flush();
+        log.info("Locator cache: {}", LocatorCache.globalStats());
+        TimeoutPolicy.save();
+        TestHistory.save();
+        DriverManager.shutdown();
+        reportActionMetrics();
+        ScreenshotUtil.awaitPending();
+        ExtentManager.flush();
+    }
+
+    /**
+     * Exports the wait and action latencies next to the HTML report and adds the slowest ones to it.
+     */
+    private void reportActionMetrics() {
+        if (ActionMetrics.isEmpty()) {
+            return;
+        }
+        String reportPath = ExtentManager.getReportPath();
+        String basePath = reportPath.substring(0, reportPath.lastIndexOf('.')) + "_action-latency";
+        try {
+            ActionMetrics.export(basePath);
+            log.info("Action latencies written to {}.csv and {}.json", basePath, basePath);
+        } catch (IOException e) {
+            System.err.println("Warn: Could not export action latencies to " + basePath + ": " + e.getMessage());
+        }
+
+        ExtentTestManager.startTest("Framework action latency");
+        ExtentTestManager.logTable(Status.INFO, ActionMetrics.summaryTable(25));
+        ExtentTestManager.log(Status.INFO, "Full breakdown: " + basePath + ".csv / " + basePath + ".json");
+        ExtentTestManager.endTest();
+        TestContext.close();
     }
 
 }
@@ -0,0 +1,21 @@
+package uiTestFramework.TestClasses;
+
+import uiTestFramework.config.SessionScope;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares how long the browser session of a test class lives.
+ * Classes without it use the {@code sessionScope} config key.
+ */
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface BrowserSession {
+
+    SessionScope value();
+}
@@ -0,0 +1,176 @@
+package uiTestFramework.Utilities;
+
+import org.openqa.selenium.ElementClickInterceptedException;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Latency histogram and outcome counts per (page class, element name, action) for every wait and
+ * action the page objects perform, exported as CSV and JSON at the end of the suite.
+ */
+public final class ActionMetrics {
+
+    public enum Outcome {
+        SUCCESS,
+        TIMEOUT,
+        STALE,
+        INTERCEPTED,
+        NOT_FOUND,
+        /** A fused browser script could not finish the action and handed it back to native events. */
+        FALLBACK,
+        ERROR;
+
+        public static Outcome of(Throwable failure) {
+            if (failure == null) {
+                return SUCCESS;
+            }
+            if (failure instanceof FrameworkException && failure.getCause() != null) {
+                failure = failure.getCause();
+            }
+            if (failure instanceof TimeoutException) {
+                return TIMEOUT;
+            }
+            if (failure instanceof StaleElementReferenceException) {
+                return STALE;
+            }
+            if (failure instanceof ElementClickInterceptedException) {
+                return INTERCEPTED;
+            }
+            if (failure instanceof NoSuchElementException) {
+                return NOT_FOUND;
+            }
+            return ERROR;
+        }
+    }
+
+    private static final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+
+    private ActionMetrics(){
+        //prevent instantiation
+    }
+
+    /**
+     * Records one wait or action, {@code failure} is null when it succeeded.
+     */
+    public static void record(Class<?> page, String elementName, String action, long nanos, Throwable failure){
+        record(page, elementName, action, nanos, Outcome.of(failure));
+    }
+
+    public static void record(Class<?> page, String elementName, String action, long nanos, Outcome outcome){
+        Entry entry = entries.computeIfAbsent(new Key(page.getSimpleName(), elementName, action), key -> new Entry());
+        entry.histogram.recordNanos(nanos);
+        entry.outcomes.incrementAndGet(outcome.ordinal());
+    }
+
+    public static boolean isEmpty(){
+        return entries.isEmpty();
+    }
+
+    /**
+     * Writes {@code <basePath>.csv} and {@code <basePath>.json}, slowest total time first.
+     */
+    public static void export(String basePath) throws IOException {
+        List<Map.Entry<Key, Entry>> rows = sortedRows();
+
+        Path csv = Path.of(basePath + ".csv");
+        Files.createDirectories(csv.toAbsolutePath().getParent());
+        try (Writer out = Files.newBufferedWriter(csv)) {
+            out.write("page,element,action,count,total_ms,mean_ms,p50_ms,p95_ms,p99_ms,max_ms");
+            for (Outcome outcome : Outcome.values()) {
+                out.write("," + outcome.name().toLowerCase(Locale.ROOT));
+            }
+            out.write("\n");
+            for (Map.Entry<Key, Entry> row : rows) {
+                LatencyHistogram h = row.getValue().histogram;
+                out.write(String.format(Locale.ROOT, "%s,%s,%s,%d,%.1f,%.1f,%.1f,%.1f,%.1f,%.1f",
+                        csvField(row.getKey().page()), csvField(row.getKey().element()), csvField(row.getKey().action()),
+                        h.getCount(), h.getTotalMillis(), h.getMeanMillis(), h.getPercentileMillis(50),
+                        h.getPercentileMillis(95), h.getPercentileMillis(99), h.getMaxMillis()));
+                for (Outcome outcome : Outcome.values()) {
+                    out.write("," + row.getValue().outcomes.get(outcome.ordinal()));
+                }
+                out.write("\n");
+            }
+        }
+
+        try (Writer out = Files.newBufferedWriter(Path.of(basePath + ".json"))) {
+            out.write("[\n");
+            for (int i = 0; i < rows.size(); i++) {
+                Map.Entry<Key, Entry> row = rows.get(i);
+                LatencyHistogram h = row.getValue().histogram;
+                out.write(String.format(Locale.ROOT,
+                        "  {\"page\":%s,\"element\":%s,\"action\":%s,\"count\":%d,\"totalMs\":%.1f,\"meanMs\":%.1f,"
+                                + "\"p50Ms\":%.1f,\"p95Ms\":%.1f,\"p99Ms\":%.1f,\"maxMs\":%.1f,\"outcomes\":{",
+                        jsonString(row.getKey().page()), jsonString(row.getKey().element()), jsonString(row.getKey().action()),
+                        h.getCount(), h.getTotalMillis(), h.getMeanMillis(), h.getPercentileMillis(50),
+                        h.getPercentileMillis(95), h.getPercentileMillis(99), h.getMaxMillis()));
+                Outcome[] outcomes = Outcome.values();
+                for (int o = 0; o < outcomes.length; o++) {
+                    out.write((o > 0 ? "," : "") + "\"" + outcomes[o].name().toLowerCase(Locale.ROOT) + "\":"
+                            + row.getValue().outcomes.get(o));
+                }
+                out.write("}}" + (i < rows.size() - 1 ? "," : "") + "\n");
+            }
+            out.write("]\n");
+        }
+    }
+
+    /**
+     * Summary of the {@code limit} entries with the highest total time, header row first.
+     */
+    public static String[][] summaryTable(int limit){
+        List<Map.Entry<Key, Entry>> rows = sortedRows();
+        int size = Math.min(limit, rows.size());
+        String[][] table = new String[size + 1][];
+        table[0] = new String[]{"Page", "Element", "Action", "Count", "Total ms", "p50 ms", "p95 ms", "p99 ms", "Failures"};
+        for (int i = 0; i < size; i++) {
+            Map.Entry<Key, Entry> row = rows.get(i);
+            LatencyHistogram h = row.getValue().histogram;
+            table[i + 1] = new String[]{
+                    row.getKey().page(), row.getKey().element(), row.getKey().action(),
+                    String.valueOf(h.getCount()),
+                    String.format(Locale.ROOT, "%.0f", h.getTotalMillis()),
+                    String.format(Locale.ROOT, "%.1f", h.getPercentileMillis(50)),
+                    String.format(Locale.ROOT, "%.1f", h.getPercentileMillis(95)),
+                    String.format(Locale.ROOT, "%.1f", h.getPercentileMillis(99)),
+                    String.valueOf(h.getCount() - row.getValue().outcomes.get(Outcome.SUCCESS.ordinal()))};
+        }
+        return table;
+    }
+
+    private static List<Map.Entry<Key, Entry>> sortedRows(){
+        List<Map.Entry<Key, Entry>> rows = new ArrayList<>(entries.entrySet());
+        rows.sort(Comparator.comparingDouble((Map.Entry<Key, Entry> row) -> row.getValue().histogram.getTotalMillis()).reversed());
+        return rows;
+    }
+
+    private static String csvField(String value){
+        return value.contains(",") || value.contains("\"") ? "\"" + value.replace("\"", "\"\"") + "\"" : value;
+    }
+
+    private static String jsonString(String value){
+        return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+
+    private record Key(String page, String element, String action) {
+    }
+
+    private static final class Entry {
+
+        private final LatencyHistogram histogram = new LatencyHistogram();
+        private final AtomicLongArray outcomes = new AtomicLongArray(Outcome.values().length);
+    }
+}
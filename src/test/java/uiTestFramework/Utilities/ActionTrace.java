@@ -0,0 +1,128 @@
+package uiTestFramework.Utilities;
+
+import uiTestFramework.config.Config;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+
+/**
+ * Per-test ring buffer of the last {@code actionTraceSize} page object actions, written out only
+ * when a test fails or is skipped. With {@code actionLog=trace} (default) it replaces the INFO line
+ * per action; {@code actionLog=info} logs every action again and keeps no trace.
+ * <p>
+ * Recording only stores references and primitives into preallocated arrays, nothing is formatted
+ * until the trace is actually dumped.
+ */
+public final class ActionTrace {
+
+    private static final boolean ENABLED = Config.getConfigInstance().isActionTraceEnabled();
+    private static final int SIZE = Config.getConfigInstance().getActionTraceSize();
+
+    private static final TestContext.Key<Ring> RING = new TestContext.Key<>("actionTrace");
+
+    private ActionTrace(){
+        //prevent instantiation
+    }
+
+    public static boolean isEnabled(){
+        return ENABLED;
+    }
+
+    /**
+     * @param nanos    duration, negative when the caller does not time the action
+     * @param outcome  null when the caller does not know it
+     */
+    public static void record(Class<?> page, String elementName, String action, long nanos, ActionMetrics.Outcome outcome){
+        if (ENABLED) {
+            TestContext context = TestContext.current();
+            Ring ring = context.get(RING);
+            if (ring == null) {
+                ring = context.computeIfAbsent(RING, () -> new Ring(SIZE));
+            }
+            ring.add(page, elementName, action, nanos, outcome);
+        }
+    }
+
+    public static void clear(){
+        TestContext context = TestContext.peek();
+        if (context != null) {
+            context.remove(RING);
+        }
+    }
+
+    /**
+     * Trace of the current test oldest first, header row first, and clears it. Empty when
+     * tracing is off or nothing was recorded.
+     */
+    public static String[][] drain(){
+        TestContext context = TestContext.peek();
+        Ring current = context == null ? null : context.remove(RING);
+        return current == null ? new String[0][] : current.rows();
+    }
+
+    /**
+     * Same rows as one text block for the log.
+     */
+    public static String format(String[][] rows){
+        StringBuilder builder = new StringBuilder();
+        for (String[] row : rows) {
+            builder.append(String.format(Locale.ROOT, "%n  %-12s %-24s %-28s %-24s %9s %-11s",
+                    (Object[]) row));
+        }
+        return builder.toString();
+    }
+
+    private static final class Ring {
+
+        private final long[] times;
+        private final long[] durations;
+        private final Class<?>[] pages;
+        private final String[] elements;
+        private final String[] actions;
+        private final ActionMetrics.Outcome[] outcomes;
+        private int next;
+        private int count;
+
+        Ring(int size) {
+            times = new long[size];
+            durations = new long[size];
+            pages = new Class<?>[size];
+            elements = new String[size];
+            actions = new String[size];
+            outcomes = new ActionMetrics.Outcome[size];
+        }
+
+        void add(Class<?> page, String elementName, String action, long nanos, ActionMetrics.Outcome outcome) {
+            int slot = next;
+            times[slot] = System.currentTimeMillis();
+            durations[slot] = nanos;
+            pages[slot] = page;
+            elements[slot] = elementName;
+            actions[slot] = action;
+            outcomes[slot] = outcome;
+            next = (slot + 1) % times.length;
+            count = Math.min(count + 1, times.length);
+        }
+
+        String[][] rows() {
+            if (count == 0) {
+                return new String[0][];
+            }
+            SimpleDateFormat time = new SimpleDateFormat("HH:mm:ss.SSS");
+            String[][] rows = new String[count + 1][];
+            rows[0] = new String[]{"Time", "Page", "Element", "Action", "ms", "Outcome"};
+            for (int i = 0; i < count; i++) {
+                int slot = (next - count + i + times.length) % times.length;
+                rows[i + 1] = new String[]{
+                        time.format(new Date(times[slot])),
+                        pages[slot].getSimpleName(),
+                        String.valueOf(elements[slot]),
+                        actions[slot],
+                        durations[slot] < 0 ? "-" : String.format(Locale.ROOT, "%.1f", durations[slot] / 1e6),
+                        outcomes[slot] == null ? "-" : outcomes[slot].name()};
+            }
+            return rows;
+        }
+    }
+}
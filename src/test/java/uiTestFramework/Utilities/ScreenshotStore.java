@@ -0,0 +1,159 @@
+package uiTestFramework.Utilities;
+
+import uiTestFramework.config.Config;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Persists screenshots re-encoded to {@code screenshotFormat}/{@code screenshotQuality} and
+ * downscaled to {@code screenshotMaxWidth}. Frames are deduplicated by the SHA-256 of the raw
+ * screenshot and its encoding: only the first one of a kind is written and embedded, repeats are
+ * returned as a reference to that file without any Base64 payload. A frame's file is only handed out once it is
+ * written: repeats arriving meanwhile wait for it, and if the write fails the next repeat writes it.
+ */
+final class ScreenshotStore {
+
+    private static final Map<String, CompletableFuture<String>> pathsByHash = new ConcurrentHashMap<>();
+
+    private ScreenshotStore(){
+        //prevent instantiation
+    }
+
+    /**
+     * Screenshot settings of the test that took it. Read on the test thread, the writer threads
+     * only see the global config and not the test's matrix cell.
+     */
+    record Settings(String format, float quality, int maxWidth, boolean dedup, boolean streamingReport) {
+
+        static Settings of(Config config){
+            return new Settings(config.getScreenshotFormat(), config.getScreenshotQuality(), config.getScreenshotMaxWidth(),
+                    config.isScreenshotDedupEnabled(), config.isStreamingReport());
+        }
+    }
+
+    /**
+     * @param basePath destination without extension, unique per capture, e.g.
+     *                 {@code screenshots/login_2024-01-01_10-00-00_7}
+     * @return the path written, or a null path when the screenshot could not be saved
+     */
+    static ScreenshotUtil.ScreenshotData store(String testName, String basePath, byte[] png, Settings settings){
+        if (!settings.dedup()) {
+            return write(testName, basePath, png, settings);
+        }
+        String hash = settings.format() + "/" + settings.quality() + "/" + settings.maxWidth() + "/" + sha256(png);
+        while (true) {
+            CompletableFuture<String> written = new CompletableFuture<>();
+            CompletableFuture<String> existing = pathsByHash.putIfAbsent(hash, written);
+            if (existing == null) {
+                ScreenshotUtil.ScreenshotData data = write(testName, basePath, png, settings);
+                if (data.getPath() == null) {
+                    pathsByHash.remove(hash, written);
+                }
+                written.complete(data.getPath());
+                return data;
+            }
+            String existingPath = existing.join();
+            if (existingPath != null) {
+                return new ScreenshotUtil.ScreenshotData(existingPath, null);
+            }
+            // The first write of this frame failed and was withdrawn, try it again
+        }
+    }
+
+    private static ScreenshotUtil.ScreenshotData write(String testName, String basePath, byte[] png, Settings settings){
+        String format = settings.format();
+        byte[] encoded = encode(testName, png, format, settings.quality(), settings.maxWidth());
+        String path = basePath + "." + (encoded == png ? "png" : format);
+        try {
+            Files.createDirectories(Path.of(path).toAbsolutePath().getParent());
+            Files.write(Path.of(path), encoded, StandardOpenOption.CREATE_NEW);
+        } catch (IOException e) {
+            System.err.println("Err: Could not save screenshot for test - "+testName);
+            System.err.println("Err: "+e.getMessage());
+            return new ScreenshotUtil.ScreenshotData(null, null);
+        }
+        // The streaming report links screenshots instead of inlining them
+        String base64 = settings.streamingReport() ? null : Base64.getEncoder().encodeToString(encoded);
+        return new ScreenshotUtil.ScreenshotData(path, base64);
+    }
+
+    /**
+     * Returns the original PNG bytes when nothing has to change or the image can not be re-encoded.
+     */
+    private static byte[] encode(String testName, byte[] png, String format, float quality, int maxWidth){
+        try {
+            BufferedImage image = ImageIO.read(new ByteArrayInputStream(png));
+            if (image == null) {
+                return png;
+            }
+            boolean resize = maxWidth > 0 && image.getWidth() > maxWidth;
+            if (!resize && format.equals("png")) {
+                return png;
+            }
+
+            boolean opaque = !format.equals("png");
+            int width = resize ? maxWidth : image.getWidth();
+            int height = resize ? Math.max(1, Math.round(image.getHeight() * (float) maxWidth / image.getWidth())) : image.getHeight();
+            BufferedImage scaled = new BufferedImage(width, height, opaque ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB);
+            Graphics2D graphics = scaled.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.drawImage(image, 0, 0, width, height, null);
+            } finally {
+                graphics.dispose();
+            }
+
+            Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName(format);
+            if (!writers.hasNext()) {
+                System.err.println("Warn: No image writer for screenshotFormat=" + format + ", keeping png");
+                return png;
+            }
+            ImageWriter writer = writers.next();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(png.length / 2);
+            try (ImageOutputStream stream = ImageIO.createImageOutputStream(out)) {
+                writer.setOutput(stream);
+                ImageWriteParam param = writer.getDefaultWriteParam();
+                if (param.canWriteCompressed() && !format.equals("png")) {
+                    param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                    param.setCompressionQuality(quality);
+                }
+                writer.write(null, new IIOImage(scaled, null, null), param);
+            } finally {
+                writer.dispose();
+            }
+            return out.toByteArray();
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Warn: Could not re-encode screenshot for test - " + testName + ", keeping png: " + e.getMessage());
+            return png;
+        }
+    }
+
+    private static String sha256(byte[] bytes){
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -3,62 +3,93 @@ package uiTestFramework.Utilities;
 import org.openqa.selenium.OutputType;
 import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
 import uiTestFramework.DriverManager.DriverManager;
+import uiTestFramework.config.Config;
 
-import java.io.File;
-import java.io.IOException;
-import java.nio.file.Files;
 import java.text.SimpleDateFormat;
-import java.util.Base64;
 import java.util.Date;
-
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Screenshots are fetched from the driver once, as bytes, on the calling thread. Re-encoding,
+ * writing them to {@code screenshots/} and Base64 encoding them happens on a small bounded pool, so a burst of
+ * failures does not serialize disk I/O on the test threads. The writers are virtual threads with
+ * {@code threadMode=virtual}. When the queue is full the caller
+ * does the work itself, so no screenshot is ever dropped.
+ */
 public class ScreenshotUtil {
 
     private ScreenshotUtil(){};//Prevent object creation
 
     private static final String SCREENSHOT_FOLDER = "screenshots";
+    private static final int WRITER_THREADS = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2));
+    private static final int WRITER_QUEUE_SIZE = 64;
+    private static final long AWAIT_PENDING_SECONDS = 60;
+
+    private static final AtomicLong sequence = new AtomicLong();
+
+    private static final ThreadPoolExecutor writer = createWriter();
 
     public static ScreenshotData takeScreenShot(String testName){
-        WebDriver driver = DriverManager.getDriver();
+        return takeScreenShotAsync(testName).join();
+    }
 
-        if (driver == null) {
+    /**
+     * Captures the screenshot now and completes once it is saved and encoded. Callbacks chained
+     * with the non-async {@code then*} methods run on the writer thread.
+     */
+    public static CompletableFuture<ScreenshotData> takeScreenShotAsync(String testName){
+        if (!DriverManager.hasDriver()) {
             System.err.println("Driver is null. Cannot take screenshot.");
-            return new ScreenshotData(null, null); // Return empty or handle gracefully
+            return CompletableFuture.completedFuture(new ScreenshotData(null, null)); // Return empty or handle gracefully
         }
 
-
-        File screenshotFolder = new File(SCREENSHOT_FOLDER);
-
-        //create a ss folder if it is missing
-        if(!screenshotFolder.exists()){
-            screenshotFolder.mkdirs();
+        byte[] screenshot;
+        try {
+            WebDriver driver = DriverManager.getDriver();
+            screenshot = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+        } catch (WebDriverException e) {
+            System.err.println("Err: Could not take screenshot for test - "+testName);
+            System.err.println("Err: "+e.getMessage());
+            return CompletableFuture.completedFuture(new ScreenshotData(null, null));
         }
 
-
+        // The sequence number keeps captures of the same test within one second apart, e.g. in two matrix cells
         String timestamp = new SimpleDateFormat("yyyy-MM-dd_HH-mm-ss").format(new Date());
+        String basePath = SCREENSHOT_FOLDER + "/" + testName + "_" + timestamp + "_" + sequence.incrementAndGet();
 
-        String screenshotPath = SCREENSHOT_FOLDER + "/" + testName + "_" + timestamp + ".png";
-
-        File scrFile = ((TakesScreenshot) DriverManager.getDriver()).getScreenshotAs(OutputType.FILE);
-
-        File destFile = new File(screenshotPath);
-
-        try {
-            Files.copy(scrFile.toPath(),destFile.toPath());
-        } catch (IOException e) {
-            System.err.println("Err: Could not save screenshot for test - "+testName);
-            System.err.println("Err: "+e.getMessage());
-        }
+        ScreenshotStore.Settings settings = ScreenshotStore.Settings.of(Config.getConfigInstance());
+        return CompletableFuture.supplyAsync(() -> ScreenshotStore.store(testName, basePath, screenshot, settings), writer);
+    }
 
-        String base64 = "";
+    /**
+     * Waits for every queued screenshot and its callbacks, to be called before the report is flushed.
+     * Screenshots taken afterwards are saved on the calling thread.
+     */
+    public static void awaitPending(){
+        writer.shutdown();
         try {
-            base64 = Base64.getEncoder().encodeToString(Files.readAllBytes(destFile.toPath()));
-        } catch (IOException e) {
-            System.err.println("Err: Could not read screenshot file as base64 encoding for test - "+testName);
-            System.err.println("Err: "+e.getMessage());
+            if (!writer.awaitTermination(AWAIT_PENDING_SECONDS, TimeUnit.SECONDS)) {
+                System.err.println("Warn: Screenshots still being written after " + AWAIT_PENDING_SECONDS + "s");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
-        return new ScreenshotData(screenshotPath,base64);
+    }
 
+    private static ThreadPoolExecutor createWriter(){
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(WRITER_THREADS, WRITER_THREADS, 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(WRITER_QUEUE_SIZE),
+                VirtualThreads.factory("screenshot-writer"),
+                // Unlike CallerRunsPolicy this also runs the task once the pool is shut down
+                (task, pool) -> task.run());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
     }
 
     public static class ScreenshotData{
@@ -76,6 +107,9 @@ public class ScreenshotUtil {
             return path;
         }
 
+        /**
+         * Null for a frame identical to an earlier one and in streaming report mode, use {@link #getPath()} then.
+         */
         public String getBase64() {
             return base64;
         }
@@ -0,0 +1,95 @@
+package uiTestFramework.Utilities;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * State of the running test: its browser session, report record and action trace. The managers
+ * keep their state in here under their own {@link Key} rather than in a {@code ThreadLocal} each,
+ * so it lives exactly as long as the test and not as long as the thread running it, which matters
+ * once every test gets a fresh virtual thread.
+ * <p>
+ * The context is bound to the thread running the test, created on first use and unbound by
+ * {@link #close()} at teardown. Work handed to other threads captures the values it needs
+ * instead of looking them up there.
+ */
+public final class TestContext {
+
+    // The only thread bound reference, ScopedValue is not available on Java 17
+    private static final ThreadLocal<TestContext> current = new ThreadLocal<>();
+
+    private final Map<Key<?>, Object> values = new ConcurrentHashMap<>();
+
+    private TestContext(){
+    }
+
+    /**
+     * The context of the test running on this thread, created if there is none yet.
+     */
+    public static TestContext current(){
+        TestContext context = current.get();
+        if (context == null) {
+            context = new TestContext();
+            current.set(context);
+        }
+        return context;
+    }
+
+    /**
+     * The context of this thread, or null without creating one.
+     */
+    public static TestContext peek(){
+        return current.get();
+    }
+
+    /**
+     * Unbinds the context from this thread, the next test on it starts with a fresh one.
+     */
+    public static void close(){
+        current.remove();
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T get(Key<T> key){
+        return (T) values.get(key);
+    }
+
+    public <T> void set(Key<T> key, T value){
+        if (value == null) {
+            values.remove(key);
+        } else {
+            values.put(key, value);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T computeIfAbsent(Key<T> key, Supplier<T> initial){
+        return (T) values.computeIfAbsent(key, ignored -> initial.get());
+    }
+
+    /**
+     * Removes and returns the value.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T remove(Key<T> key){
+        return (T) values.remove(key);
+    }
+
+    /**
+     * Identity of a value kept in the context, declared by the class owning that value.
+     */
+    public static final class Key<T> {
+
+        private final String name;
+
+        public Key(String name){
+            this.name = name;
+        }
+
+        @Override
+        public String toString(){
+            return name;
+        }
+    }
+}
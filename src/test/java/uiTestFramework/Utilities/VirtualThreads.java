@@ -0,0 +1,103 @@
+package uiTestFramework.Utilities;
+
+import uiTestFramework.config.Config;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Threads for {@code threadMode=virtual}. The framework is compiled for Java 17, so virtual threads
+ * are looked up reflectively and only used on a Java 21+ runtime. Everywhere else, and with
+ * {@code threadMode=platform}, daemon platform threads are handed out instead.
+ */
+public final class VirtualThreads {
+
+    private static final Class<?> builder = type("java.lang.Thread$Builder");
+    private static final Method ofVirtual = lookup(Thread.class, "ofVirtual");
+    private static final Method builderName = lookup(builder, "name", String.class, long.class);
+    private static final Method builderFactory = lookup(builder, "factory");
+    private static final Method newThreadPerTaskExecutor = lookup(Executors.class, "newThreadPerTaskExecutor", ThreadFactory.class);
+
+    private static final boolean ENABLED = enabled();
+
+    private VirtualThreads(){
+        //prevent instantiation
+    }
+
+    /**
+     * True with {@code threadMode=virtual} on a runtime that has virtual threads.
+     */
+    public static boolean isEnabled(){
+        return ENABLED;
+    }
+
+    /**
+     * Threads named {@code name-1}, {@code name-2}, ... virtual when enabled, daemon platform
+     * threads otherwise.
+     */
+    public static ThreadFactory factory(String name){
+        if (ENABLED) {
+            try {
+                Object named = builderName.invoke(ofVirtual.invoke(null), name + "-", 1L);
+                return (ThreadFactory) builderFactory.invoke(named);
+            } catch (ReflectiveOperationException e) {
+                System.err.println("Warn: Could not create virtual threads for " + name + ": " + e.getMessage());
+            }
+        }
+        AtomicInteger counter = new AtomicInteger();
+        return task -> {
+            Thread thread = new Thread(task, name + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * An executor starting one virtual thread per task, or null when virtual threads are not enabled.
+     */
+    public static ExecutorService newThreadPerTaskExecutor(String name){
+        if (!ENABLED) {
+            return null;
+        }
+        try {
+            return (ExecutorService) newThreadPerTaskExecutor.invoke(null, factory(name));
+        } catch (ReflectiveOperationException e) {
+            System.err.println("Warn: Could not create a virtual thread executor for " + name + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static boolean enabled(){
+        if (!Config.getConfigInstance().isVirtualThreadMode()) {
+            return false;
+        }
+        if (ofVirtual == null || builderName == null || builderFactory == null || newThreadPerTaskExecutor == null) {
+            System.err.println("Warn: threadMode=virtual needs Java 21 or later, running on platform threads (Java "
+                    + Runtime.version().feature() + ")");
+            return false;
+        }
+        return true;
+    }
+
+    private static Class<?> type(String name){
+        try {
+            return Class.forName(name);
+        } catch (ClassNotFoundException e) {
+            return null;
+        }
+    }
+
+    private static Method lookup(Class<?> type, String name, Class<?>... parameters){
+        if (type == null) {
+            return null;
+        }
+        try {
+            return type.getMethod(name, parameters);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package uiTestFramework.benchmarks;
+
+import org.openqa.selenium.WebDriver;
+import uiTestFramework.DriverManager.DriverFactory;
+import uiTestFramework.DriverManager.DriverManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Compares Chrome launch times with a fresh profile (cold) against the fast-start profile template.
+ * <p>
+ * Run with: {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=uiTestFramework.benchmarks.ChromeLaunchBenchmark -Dexec.args=10}
+ */
+public class ChromeLaunchBenchmark {
+
+    public static void main(String[] args) {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+
+        // One untimed launch so driver resolution and disk caches are warm for both modes
+        launch(false);
+
+        List<Long> cold = measure(false, iterations);
+        List<Long> template = measure(true, iterations);
+
+        System.out.println("Chrome launch times over " + iterations + " launches (ms)");
+        print("cold", cold);
+        print("template", template);
+
+        DriverManager.shutdown();
+    }
+
+    private static List<Long> measure(boolean fastStart, int iterations) {
+        List<Long> times = new ArrayList<>();
+        for (int i = 0; i < iterations; i++) {
+            times.add(launch(fastStart));
+        }
+        Collections.sort(times);
+        return times;
+    }
+
+    private static long launch(boolean fastStart) {
+        System.setProperty("chromeFastStart", String.valueOf(fastStart));
+        System.setProperty("browser", "chrome");
+
+        long start = System.nanoTime();
+        WebDriver driver = DriverFactory.createInstance();
+        driver.get("about:blank");
+        long elapsed = (System.nanoTime() - start) / 1_000_000;
+
+        driver.quit();
+        return elapsed;
+    }
+
+    private static void print(String mode, List<Long> times) {
+        System.out.printf("%-10s min=%5d  p50=%5d  max=%5d%n",
+                mode, times.get(0), times.get(times.size() / 2), times.get(times.size() - 1));
+    }
+}
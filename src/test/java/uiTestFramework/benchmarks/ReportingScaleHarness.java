@@ -0,0 +1,349 @@
+package uiTestFramework.benchmarks;
+
+import com.aventstack.extentreports.Status;
+import org.testng.ITestContext;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+import uiTestFramework.DriverManager.DriverManager;
+import uiTestFramework.PageObjects.OrangeHrmLoginPage;
+import uiTestFramework.Utilities.ActionMetrics;
+import uiTestFramework.Utilities.ActionTrace;
+import uiTestFramework.Utilities.ScreenshotUtil;
+import uiTestFramework.Utilities.TestContext;
+import uiTestFramework.config.Config;
+import uiTestFramework.extentReportManagers.ExtentManager;
+import uiTestFramework.extentReportManagers.ExtentTestManager;
+import uiTestFramework.listeners.TestListener;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.reflect.Array;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Capacity of the reporting pipeline at suite scale. Synthetic tests pass, fail and skip through the
+ * real {@link TestListener}, {@link ExtentTestManager} and {@link ExtentManager#flush()}, with failure
+ * and skip screenshots taken from a stub driver, in the order {@code BaseTest} and TestNG drive them.
+ * No browser and no application are involved, so the numbers are the framework's own.
+ * <p>
+ * Measured: tests per second on the test threads and until every result is merged, the time to wait
+ * for pending screenshots and to flush the report, the peak heap sampled every 5 ms, and the bytes
+ * allocated by the test threads and the threads alive at the end of the run (report merging,
+ * screenshot writer), as a total and per second. Each run appends a row to
+ * {@code target/scale/reporting-scale.csv} to trend over time and writes
+ * {@code target/scale/reporting-scale.json}.
+ * <p>
+ * One run per JVM, as the report is created once, cold like a suite. Run with:
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=uiTestFramework.benchmarks.ReportingScaleHarness -Dexec.args="10000 8 20 5 2"}
+ * for tests, threads, logs per test, % failed and % skipped. {@code reportMode}, {@code screenshotDedup}
+ * and the other reporting settings are read from the config as usual.
+ */
+public class ReportingScaleHarness {
+
+    private static final Path OUTPUT_DIR = Path.of("target", "scale");
+    private static final String CSV_HEADER = "timestamp,report_mode,screenshot_dedup,tests,threads,logs_per_test,failed,skipped,"
+            + "tests_per_s,merged_tests_per_s,run_ms,screenshot_wait_ms,flush_ms,peak_heap_mb,max_heap_mb,allocated_mb,allocation_mb_per_s";
+    private static final long HEAP_SAMPLE_MILLIS = 5;
+
+    public static void main(String[] args) throws InterruptedException, IOException {
+        int tests = args.length > 0 ? Integer.parseInt(args[0]) : 10000;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+        int logsPerTest = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+        int failedPercent = args.length > 3 ? Integer.parseInt(args[3]) : 5;
+        int skippedPercent = args.length > 4 ? Integer.parseInt(args[4]) : 2;
+
+        // Screenshots come from the stub driver, one session per worker taken on first use as in a test.
+        // A slot per worker, so the browser slots never throttle the reporting under test.
+        System.setProperty("browser", "stub");
+        System.setProperty("baseUrl", "about:blank");
+        System.setProperty("prewarmSessions", "false");
+        System.setProperty("browserSlots", String.valueOf(threads));
+
+        Config config = Config.getConfigInstance();
+        ExtentManager.createInstance("reporting-scale");
+        TestListener listener = new TestListener();
+        ITestContext context = testContext();
+        listener.onStart(context);
+
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        System.gc();
+        HeapSampler heap = new HeapSampler(memory);
+        heap.start();
+        Map<Long, Long> allocatedBefore = allocatedByThread(threadBean);
+
+        int[] outcomes = new int[3];
+        AtomicLong workerAllocated = new AtomicLong();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int worker = t;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                long allocated = threadBean.getCurrentThreadAllocatedBytes();
+                for (int i = worker; i < tests; i += threads) {
+                    int status = status(i, failedPercent, skippedPercent);
+                    runTest(listener, context, "syntheticTest" + i, status, logsPerTest, worker);
+                    synchronized (outcomes) {
+                        outcomes[status - 1]++;
+                    }
+                }
+                workerAllocated.addAndGet(threadBean.getCurrentThreadAllocatedBytes() - allocated);
+            }, "scale-worker-" + t);
+            thread.start();
+            workers.add(thread);
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        long testsDone = System.nanoTime();
+        ExtentManager.awaitMerged();
+        long merged = System.nanoTime();
+
+        // What BaseTest does at the end of the suite
+        listener.onFinish(context);
+        DriverManager.shutdown();
+        ScreenshotUtil.awaitPending();
+        long screenshotsDone = System.nanoTime();
+        ExtentManager.flush();
+        long flushed = System.nanoTime();
+
+        heap.interrupt();
+        heap.join();
+        long allocated = workerAllocated.get() + allocatedSince(threadBean, allocatedBefore, heap.getId());
+
+        double runSeconds = (flushed - begin) / 1e9;
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("timestamp", Instant.now().toString());
+        row.put("reportMode", config.getPropertyOrDefault("reportMode", "extent"));
+        row.put("screenshotDedup", config.isScreenshotDedupEnabled());
+        row.put("tests", tests);
+        row.put("threads", threads);
+        row.put("logsPerTest", logsPerTest);
+        row.put("failed", outcomes[ITestResult.FAILURE - 1]);
+        row.put("skipped", outcomes[ITestResult.SKIP - 1]);
+        row.put("testsPerS", tests / ((testsDone - begin) / 1e9));
+        row.put("mergedTestsPerS", tests / ((merged - begin) / 1e9));
+        row.put("runMs", runSeconds * 1000);
+        row.put("screenshotWaitMs", (screenshotsDone - merged) / 1e6);
+        row.put("flushMs", (flushed - screenshotsDone) / 1e6);
+        row.put("peakHeapMb", heap.peak() / 1048576.0);
+        row.put("maxHeapMb", memory.getHeapMemoryUsage().getMax() / 1048576.0);
+        row.put("allocatedMb", allocated / 1048576.0);
+        row.put("allocationMbPerS", allocated / 1048576.0 / runSeconds);
+
+        export(row);
+        System.out.println("Reporting scale, " + tests + " tests x " + logsPerTest + " logs on " + threads + " threads, report "
+                + ExtentManager.getReportPath());
+        for (Map.Entry<String, Object> entry : row.entrySet()) {
+            System.out.printf(Locale.ROOT, "%-18s %s%n", entry.getKey(), format(entry.getValue()));
+        }
+    }
+
+    /**
+     * One test the way TestNG and {@code BaseTest} run it: session bound, listener started, the body
+     * logging steps and recording page actions on the session, the outcome reported, then teardown.
+     */
+    private static void runTest(TestListener listener, ITestContext context, String name, int status, int logsPerTest, int worker) {
+        long started = System.currentTimeMillis();
+        DriverManager.bindScope("scale-worker-" + worker);
+        listener.onTestStart(result(context, name, status, started));
+
+        DriverManager.getDriver();
+        for (int i = 0; i < logsPerTest; i++) {
+            ActionTrace.record(OrangeHrmLoginPage.class, "Username", "enterText", 120_000, ActionMetrics.Outcome.SUCCESS);
+            ExtentTestManager.log(Status.INFO, "Step " + i + " of " + name);
+        }
+
+        ITestResult result = result(context, name, status, started);
+        switch (status) {
+            case ITestResult.FAILURE -> listener.onTestFailure(result);
+            case ITestResult.SKIP -> listener.onTestSkipped(result);
+            default -> listener.onTestSuccess(result);
+        }
+
+        DriverManager.parkDriver();
+        ExtentTestManager.endTest();
+        TestContext.close();
+    }
+
+    /**
+     * Spreads failures and skips evenly over the run, not in one block at its start.
+     */
+    private static int status(int index, int failedPercent, int skippedPercent) {
+        int slot = (int) ((index * 37L) % 100);
+        if (slot < failedPercent) {
+            return ITestResult.FAILURE;
+        }
+        return slot < failedPercent + skippedPercent ? ITestResult.SKIP : ITestResult.SUCCESS;
+    }
+
+    /* ---------------- synthetic TestNG objects ---------------- */
+
+    private static ITestContext testContext() {
+        XmlTest xmlTest = new XmlTest(new XmlSuite());
+        xmlTest.setName("reporting-scale");
+        return proxy(ITestContext.class, method -> switch (method) {
+            case "getName" -> "reporting-scale";
+            case "getCurrentXmlTest" -> xmlTest;
+            default -> null;
+        });
+    }
+
+    private static ITestResult result(ITestContext context, String name, int status, long started) {
+        ITestNGMethod method = proxy(ITestNGMethod.class, called -> switch (called) {
+            case "getMethodName" -> name;
+            case "getQualifiedName" -> ReportingScaleHarness.class.getName() + "." + name;
+            default -> null;
+        });
+        Throwable throwable = switch (status) {
+            case ITestResult.FAILURE -> new AssertionError("expected [Dashboard] but found [Login] in " + name);
+            case ITestResult.SKIP -> new IllegalStateException("Depends on a failed test: " + name);
+            default -> null;
+        };
+        long ended = System.currentTimeMillis();
+        return proxy(ITestResult.class, called -> switch (called) {
+            case "getName" -> name;
+            case "getMethod" -> method;
+            case "getTestContext" -> context;
+            case "getStatus" -> status;
+            case "getThrowable" -> throwable;
+            case "getStartMillis" -> started;
+            case "getEndMillis" -> ended;
+            default -> null;
+        });
+    }
+
+    /**
+     * Interface instance answering by method name, anything else returns null, zero or false.
+     */
+    private static <T> T proxy(Class<T> type, Function<String, Object> answers) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (instance, method, args) -> {
+            switch (method.getName()) {
+                case "equals":
+                    return instance == args[0];
+                case "hashCode":
+                    return System.identityHashCode(instance);
+                case "toString":
+                    return type.getSimpleName() + "@" + Integer.toHexString(System.identityHashCode(instance));
+                default:
+                    Object answer = answers.apply(method.getName());
+                    if (answer == null && method.getReturnType().isPrimitive() && method.getReturnType() != void.class) {
+                        return Array.get(Array.newInstance(method.getReturnType(), 1), 0);
+                    }
+                    return answer;
+            }
+        }));
+    }
+
+    /* ---------------- measurements ---------------- */
+
+    private static Map<Long, Long> allocatedByThread(com.sun.management.ThreadMXBean threadBean) {
+        long[] ids = threadBean.getAllThreadIds();
+        long[] bytes = threadBean.getThreadAllocatedBytes(ids);
+        Map<Long, Long> allocated = new HashMap<>();
+        for (int i = 0; i < ids.length; i++) {
+            if (bytes[i] >= 0) {
+                allocated.put(ids[i], bytes[i]);
+            }
+        }
+        return allocated;
+    }
+
+    /**
+     * Bytes allocated since {@code before} by the threads alive now, threads started meanwhile
+     * counting in full.
+     */
+    private static long allocatedSince(com.sun.management.ThreadMXBean threadBean, Map<Long, Long> before, long excludedThread) {
+        long total = 0;
+        for (Map.Entry<Long, Long> now : allocatedByThread(threadBean).entrySet()) {
+            if (now.getKey() != excludedThread) {
+                total += now.getValue() - before.getOrDefault(now.getKey(), 0L);
+            }
+        }
+        return total;
+    }
+
+    private static final class HeapSampler extends Thread {
+
+        private final MemoryMXBean memory;
+        private volatile long peak;
+
+        HeapSampler(MemoryMXBean memory) {
+            super("scale-heap-sampler");
+            setDaemon(true);
+            this.memory = memory;
+        }
+
+        @Override
+        public void run() {
+            while (!isInterrupted()) {
+                peak = Math.max(peak, memory.getHeapMemoryUsage().getUsed());
+                try {
+                    Thread.sleep(HEAP_SAMPLE_MILLIS);
+                } catch (InterruptedException e) {
+                    break;
+                }
+            }
+            peak = Math.max(peak, memory.getHeapMemoryUsage().getUsed());
+        }
+
+        long peak() {
+            return peak;
+        }
+    }
+
+    /* ---------------- output ---------------- */
+
+    private static void export(Map<String, Object> row) throws IOException {
+        Files.createDirectories(OUTPUT_DIR);
+        Path csv = OUTPUT_DIR.resolve("reporting-scale.csv");
+        boolean header = !Files.exists(csv);
+        List<String> values = new ArrayList<>();
+        for (Object value : row.values()) {
+            values.add(format(value));
+        }
+        try (Writer out = Files.newBufferedWriter(csv, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            if (header) {
+                out.write(CSV_HEADER + "\n");
+            }
+            out.write(String.join(",", values) + "\n");
+        }
+
+        List<String> fields = new ArrayList<>();
+        for (Map.Entry<String, Object> entry : row.entrySet()) {
+            Object value = entry.getValue();
+            fields.add("  \"" + entry.getKey() + "\": " + (value instanceof String ? "\"" + value + "\"" : format(value)));
+        }
+        Files.writeString(OUTPUT_DIR.resolve("reporting-scale.json"), "{\n" + String.join(",\n", fields) + "\n}\n");
+    }
+
+    private static String format(Object value) {
+        return value instanceof Double number ? String.format(Locale.ROOT, "%.1f", number) : String.valueOf(value);
+    }
+}
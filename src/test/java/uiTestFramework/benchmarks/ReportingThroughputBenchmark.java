@@ -0,0 +1,99 @@
+package uiTestFramework.benchmarks;
+
+import com.aventstack.extentreports.ExtentReports;
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.Status;
+import uiTestFramework.extentReportManagers.ExtentManager;
+import uiTestFramework.extentReportManagers.ExtentTestManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Reporting throughput (tests per second) as the thread count grows, logging straight into the
+ * shared {@link ExtentReports} the way tests used to, against the per-thread buffers of
+ * {@link ExtentTestManager}.
+ * <p>
+ * Run with: {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=uiTestFramework.benchmarks.ReportingThroughputBenchmark -Dexec.args="2000 20"}
+ */
+public class ReportingThroughputBenchmark {
+
+    private static final int[] THREAD_COUNTS = {1, 2, 4, 8, 16, 32};
+
+    public static void main(String[] args) throws InterruptedException {
+        int testsPerRun = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        int logsPerTest = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+
+        System.setProperty("reportMode", "extent");
+        ExtentReports extent = ExtentManager.createInstance("reporting-benchmark");
+
+        // Untimed warm-up of both paths. Use a machine with at least as many cores as threads.
+        run(4, testsPerRun, logsPerTest, false, extent);
+        run(4, testsPerRun, logsPerTest, true, extent);
+
+        System.out.println("Reporting throughput, " + testsPerRun + " tests x " + logsPerTest + " logs (tests/s)");
+        System.out.printf("%-8s %12s %16s %16s%n", "threads", "shared", "buffered (test)", "buffered (merged)");
+        for (int threads : THREAD_COUNTS) {
+            double[] shared = run(threads, testsPerRun, logsPerTest, false, extent);
+            double[] buffered = run(threads, testsPerRun, logsPerTest, true, extent);
+            System.out.printf("%-8d %12.0f %16.0f %16.0f%n", threads, shared[0], buffered[0], buffered[1]);
+        }
+    }
+
+    /**
+     * Tests per second as seen by the test threads, and until every result is merged into the report.
+     */
+    private static double[] run(int threads, int tests, int logsPerTest, boolean buffered, ExtentReports extent)
+            throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int share = tests / threads + (t < tests % threads ? 1 : 0);
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < share; i++) {
+                    if (buffered) {
+                        bufferedTest(i, logsPerTest);
+                    } else {
+                        sharedTest(extent, i, logsPerTest);
+                    }
+                }
+            });
+            worker.start();
+            workers.add(worker);
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        long testsDone = System.nanoTime();
+        ExtentManager.awaitMerged();
+        long merged = System.nanoTime();
+        return new double[]{tests / ((testsDone - begin) / 1e9), tests / ((merged - begin) / 1e9)};
+    }
+
+    private static void sharedTest(ExtentReports extent, int index, int logs) {
+        ExtentTest test = extent.createTest("shared-" + index);
+        for (int i = 0; i < logs; i++) {
+            test.log(Status.INFO, "step " + i);
+        }
+        test.log(Status.PASS, "✔ Test Passed");
+    }
+
+    private static void bufferedTest(int index, int logs) {
+        ExtentTestManager.startTest("buffered-" + index);
+        for (int i = 0; i < logs; i++) {
+            ExtentTestManager.log(Status.INFO, "step " + i);
+        }
+        ExtentTestManager.log(Status.PASS, "✔ Test Passed");
+        ExtentTestManager.endTest();
+    }
+}
@@ -6,5 +6,7 @@ public enum BrowserType {
     FIREFOX,
     EDGE,
     SAFARI,
-    REMOTE
+    REMOTE,
+    /** No browser, see {@link uiTestFramework.fixtures.StubDriver} */
+    STUB
 }
@@ -1,26 +1,40 @@
 package uiTestFramework.config;
 
+import uiTestFramework.Utilities.TestContext;
+
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Properties;
 import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class Config {
 
-    private static Config instance = null;
+    private static volatile Config instance = null;
     private final Properties properties = new Properties();;
+    private final MatrixCell cell;
 
     private static final String DEFAULT_PROPERTIES_FILE_NAME = "config.properties";
 
+    private static final Map<MatrixCell, Config> cellViews = new ConcurrentHashMap<>();
+    private static final TestContext.Key<Config> VIEW = new TestContext.Key<>("configView");
+
     //private constructor
     private Config(){
-       loadEnvironmentOrDefault();
+       this.cell = null;
+       loadEnvironmentOrDefault(System.getProperty("env"));
     }
 
-    private void loadEnvironmentOrDefault(){
+    private Config(MatrixCell cell){
+        this.cell = cell;
+        loadEnvironmentOrDefault(cell.environment().name());
+    }
 
-        String runtimeEnv = System.getProperty("env");
+    private void loadEnvironmentOrDefault(String runtimeEnv){
 
         if(runtimeEnv == null){
             initProperties(DEFAULT_PROPERTIES_FILE_NAME);
@@ -50,14 +64,56 @@ public class Config {
         }
     }
 
-    public static synchronized Config getConfigInstance(){
+    /**
+     * The configuration of the running test: the view of its matrix cell in a matrix run,
+     * the one loaded for {@code -Denv} otherwise.
+     */
+    public static Config getConfigInstance(){
+        TestContext context = TestContext.peek();
+        Config view = context == null ? null : context.get(VIEW);
+        if(view != null){
+            return view;
+        }
         if(instance == null){
-            instance = new Config();
+            synchronized (Config.class){
+                if(instance == null){
+                    instance = new Config();
+                }
+            }
         }
         return instance;
     }
 
+    /**
+     * The configuration of a matrix cell: its environment's properties file, with its browser
+     * and environment taking precedence over {@code -Dbrowser} and {@code -Denv}.
+     */
+    public static Config forCell(MatrixCell cell){
+        return cellViews.computeIfAbsent(cell, Config::new);
+    }
+
+    /**
+     * Makes {@link #getConfigInstance()} return the view of {@code cell} for the current test,
+     * or the default configuration again for null.
+     */
+    public static void bindCell(MatrixCell cell){
+        TestContext.current().set(VIEW, cell == null ? null : forCell(cell));
+    }
+
+    /**
+     * Null outside a matrix run.
+     */
+    public MatrixCell getCell(){
+        return cell;
+    }
+
     public String getPropertyOrDefault(String key, String defaultValue){
+        if (cell != null && key.equals("browser")){
+            return cell.browser().name();
+        }
+        if (cell != null && key.equals("env")){
+            return cell.environment().name();
+        }
         String systemValue = System.getProperty(key);
         if (systemValue != null){
             return systemValue;
@@ -81,6 +137,22 @@ public class Config {
         return getPropertyOrDefault("baseUrl", "");
     }
 
+    public String getUsername() {
+        return getPropertyOrDefault("username", "");
+    }
+
+    public String getPassword() {
+        return getPropertyOrDefault("password", "");
+    }
+
+    public boolean isSessionStateCacheEnabled() {
+        return Boolean.parseBoolean(getPropertyOrDefault("sessionStateCache", "true"));
+    }
+
+    public long getSessionStateTtlMinutes() {
+        return Long.parseLong(getPropertyOrDefault("sessionStateTtlMinutes", "20"));
+    }
+
     public int getTimeout() {
         return Integer.parseInt(getPropertyOrDefault("timeout", "20"));
     }
@@ -90,4 +162,158 @@ public class Config {
         return Boolean.parseBoolean(headless);
     }
 
+    public String getCacheDir() {
+        return getPropertyOrDefault("cacheDir", ".framework-cache");
+    }
+
+    public boolean isDriverCacheEnabled() {
+        return Boolean.parseBoolean(getPropertyOrDefault("driverCache", "true"));
+    }
+
+    public long getDriverCacheTtlHours() {
+        return Long.parseLong(getPropertyOrDefault("driverCacheTtlHours", "24"));
+    }
+
+    public boolean isChromeFastStartEnabled() {
+        return Boolean.parseBoolean(getPropertyOrDefault("chromeFastStart", "true"));
+    }
+
+    public boolean isFusedActionsEnabled() {
+        return Boolean.parseBoolean(getPropertyOrDefault("fusedActions", "false"));
+    }
+
+    public boolean isEventDrivenWaitEnabled() {
+        return getPropertyOrDefault("waitMode", "event").equalsIgnoreCase("event");
+    }
+
+    public boolean isLearnedTimeoutEnabled() {
+        return Boolean.parseBoolean(getPropertyOrDefault("learnedTimeout", "true"));
+    }
+
+    public int getLearnedTimeoutMinSamples() {
+        return Integer.parseInt(getPropertyOrDefault("learnedTimeoutMinSamples", "5"));
+    }
+
+    public double getLearnedTimeoutSafetyFactor() {
+        return Double.parseDouble(getPropertyOrDefault("learnedTimeoutSafetyFactor", "3.0"));
+    }
+
+    public long getLearnedTimeoutMinMillis() {
+        return Long.parseLong(getPropertyOrDefault("learnedTimeoutMinMillis", "1000"));
+    }
+
+    public int getLearnedTimeoutProbeEvery() {
+        return Integer.parseInt(getPropertyOrDefault("learnedTimeoutProbeEvery", "20"));
+    }
+
+    public SessionScope getSessionScope() {
+        String scope = getPropertyOrDefault("sessionScope", "method").toUpperCase(Locale.ROOT);
+        return SessionScope.valueOf(scope);
+    }
+
+    public boolean isSessionReuseEnabled() {
+        return Boolean.parseBoolean(getPropertyOrDefault("reuseSession", "true"));
+    }
+
+    public int getMaxSessionReuse() {
+        return Integer.parseInt(getPropertyOrDefault("maxSessionReuse", "20"));
+    }
+
+    public boolean isSessionPrewarmEnabled() {
+        return Boolean.parseBoolean(getPropertyOrDefault("prewarmSessions", "true"));
+    }
+
+    public int getPrewarmSessions(int threadCount) {
+        return Integer.parseInt(getPropertyOrDefault("prewarmPoolSize", String.valueOf(threadCount)));
+    }
+
+    public long getSessionStartHedgeMillis() {
+        return Long.parseLong(getPropertyOrDefault("sessionStartHedgeMillis", "6000"));
+    }
+
+    public long getParkedSessionEvictMillis() {
+        return Long.parseLong(getPropertyOrDefault("parkedSessionEvictMillis", "1000"));
+    }
+
+    public String getScreenshotFormat() {
+        return getPropertyOrDefault("screenshotFormat", "jpg").toLowerCase();
+    }
+
+    public float getScreenshotQuality() {
+        return Float.parseFloat(getPropertyOrDefault("screenshotQuality", "0.75"));
+    }
+
+    public int getScreenshotMaxWidth() {
+        return Integer.parseInt(getPropertyOrDefault("screenshotMaxWidth", "1280"));
+    }
+
+    public String getThreadCount() {
+        return getPropertyOrDefault("threadCount", "auto");
+    }
+
+    public int getShardCount() {
+        return Integer.parseInt(getPropertyOrDefault("shards", "2"));
+    }
+
+    public long getBrowserMemoryMb() {
+        return Long.parseLong(getPropertyOrDefault("browserMemoryMb", "768"));
+    }
+
+    public boolean isHistorySchedulingEnabled() {
+        return Boolean.parseBoolean(getPropertyOrDefault("scheduleByHistory", "true"));
+    }
+
+    public boolean isActionTraceEnabled() {
+        return getPropertyOrDefault("actionLog", "trace").equalsIgnoreCase("trace");
+    }
+
+    public int getActionTraceSize() {
+        return Integer.parseInt(getPropertyOrDefault("actionTraceSize", "64"));
+    }
+
+    public boolean isStreamingReport() {
+        return getPropertyOrDefault("reportMode", "extent").equalsIgnoreCase("stream");
+    }
+
+    public boolean isScreenshotDedupEnabled() {
+        return Boolean.parseBoolean(getPropertyOrDefault("screenshotDedup", "true"));
+    }
+
+    public String getNetworkMode() {
+        return getPropertyOrDefault("networkMode", "live").toLowerCase(Locale.ROOT);
+    }
+
+    public String getNetworkRecordingDir() {
+        return getPropertyOrDefault("networkRecordingDir", "recordings");
+    }
+
+    public boolean isVirtualThreadMode() {
+        return getPropertyOrDefault("threadMode", "platform").equalsIgnoreCase("virtual");
+    }
+
+    public String getBrowserSlots() {
+        return getPropertyOrDefault("browserSlots", "auto");
+    }
+
+    /**
+     * Browser and environment combinations to run every test in, empty unless
+     * {@code matrixBrowsers} or {@code matrixEnvironments} is set. Either one defaults to the
+     * single configured browser or environment.
+     */
+    public List<MatrixCell> getMatrix() {
+        String browsers = getPropertyOrDefault("matrixBrowsers", "");
+        String environments = getPropertyOrDefault("matrixEnvironments", "");
+        if (browsers.isBlank() && environments.isBlank()) {
+            return List.of();
+        }
+        List<MatrixCell> cells = new ArrayList<>();
+        for (String browser : browsers.isBlank() ? new String[]{getBrowser().name()} : browsers.split(",")) {
+            for (String environment : environments.isBlank() ? new String[]{getEnvironment().name()} : environments.split(",")) {
+                cells.add(new MatrixCell(BrowserType.valueOf(browser.trim().toUpperCase(Locale.ROOT)),
+                        EnvironmentType.valueOf(environment.trim().toUpperCase(Locale.ROOT))));
+            }
+        }
+        return cells;
+    }
+
 }
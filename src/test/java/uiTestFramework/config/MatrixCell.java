@@ -0,0 +1,38 @@
+package uiTestFramework.config;
+
+import org.testng.xml.XmlTest;
+
+import java.util.Locale;
+
+/**
+ * One browser and environment combination of a matrix run, see {@code matrixBrowsers} and
+ * {@code matrixEnvironments}.
+ */
+public record MatrixCell(BrowserType browser, EnvironmentType environment) {
+
+    /** XmlTest parameters a matrix test carries its cell in */
+    public static final String BROWSER_PARAMETER = "matrix.browser";
+    public static final String ENVIRONMENT_PARAMETER = "matrix.env";
+
+    /**
+     * The cell a &lt;test&gt; was expanded for, null outside a matrix run.
+     */
+    public static MatrixCell of(XmlTest xmlTest) {
+        String browser = xmlTest.getParameter(BROWSER_PARAMETER);
+        String environment = xmlTest.getParameter(ENVIRONMENT_PARAMETER);
+        if (browser == null || environment == null) {
+            return null;
+        }
+        return new MatrixCell(BrowserType.valueOf(browser), EnvironmentType.valueOf(environment));
+    }
+
+    /** e.g. {@code chrome/qa}, for the report */
+    public String label() {
+        return (browser + "/" + environment).toLowerCase(Locale.ROOT);
+    }
+
+    /** e.g. {@code chrome-qa}, for file names */
+    public String id() {
+        return (browser + "-" + environment).toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,7 @@
+package uiTestFramework.config;
+
+public enum SessionScope {
+    METHOD,
+    CLASS,
+    SUITE
+}
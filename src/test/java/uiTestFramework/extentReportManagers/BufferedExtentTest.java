@@ -0,0 +1,131 @@
+package uiTestFramework.extentReportManagers;
+
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.Status;
+import com.aventstack.extentreports.markuputils.Markup;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+
+/**
+ * The logging methods of {@link ExtentTest} over the buffered {@link TestRecord} of a test, for code
+ * written against {@link ExtentTestManager#getTest()}. Entries show up in the report when the test
+ * ends, not while it runs, and only what a record can hold is kept: messages, markup, exceptions and
+ * screenshots.
+ */
+public final class BufferedExtentTest {
+
+    private final TestRecord record;
+
+    BufferedExtentTest(TestRecord record) {
+        this.record = record;
+    }
+
+    public BufferedExtentTest log(Status status, String details) {
+        record.add(new TestRecord.Entry(status, details, null, null, null));
+        return this;
+    }
+
+    public BufferedExtentTest log(Status status, Markup markup) {
+        return log(status, markup.getMarkup());
+    }
+
+    public BufferedExtentTest log(Status status, Throwable t) {
+        StringWriter stackTrace = new StringWriter();
+        t.printStackTrace(new PrintWriter(stackTrace));
+        return log(status, "<pre>" + stackTrace + "</pre>");
+    }
+
+    public BufferedExtentTest info(String details) {
+        return log(Status.INFO, details);
+    }
+
+    public BufferedExtentTest info(Markup markup) {
+        return log(Status.INFO, markup);
+    }
+
+    public BufferedExtentTest info(Throwable t) {
+        return log(Status.INFO, t);
+    }
+
+    public BufferedExtentTest pass(String details) {
+        return log(Status.PASS, details);
+    }
+
+    public BufferedExtentTest pass(Markup markup) {
+        return log(Status.PASS, markup);
+    }
+
+    public BufferedExtentTest pass(Throwable t) {
+        return log(Status.PASS, t);
+    }
+
+    public BufferedExtentTest fail(String details) {
+        return log(Status.FAIL, details);
+    }
+
+    public BufferedExtentTest fail(Markup markup) {
+        return log(Status.FAIL, markup);
+    }
+
+    public BufferedExtentTest fail(Throwable t) {
+        return log(Status.FAIL, t);
+    }
+
+    public BufferedExtentTest warning(String details) {
+        return log(Status.WARNING, details);
+    }
+
+    public BufferedExtentTest warning(Markup markup) {
+        return log(Status.WARNING, markup);
+    }
+
+    public BufferedExtentTest warning(Throwable t) {
+        return log(Status.WARNING, t);
+    }
+
+    public BufferedExtentTest skip(String details) {
+        return log(Status.SKIP, details);
+    }
+
+    public BufferedExtentTest skip(Markup markup) {
+        return log(Status.SKIP, markup);
+    }
+
+    public BufferedExtentTest skip(Throwable t) {
+        return log(Status.SKIP, t);
+    }
+
+    /**
+     * @param path relative to the reports/ folder, like the paths Extent links to
+     */
+    public BufferedExtentTest addScreenCaptureFromPath(String path, String title) {
+        record.add(new TestRecord.Entry(Status.INFO, title, path, null, null));
+        return this;
+    }
+
+    public BufferedExtentTest addScreenCaptureFromPath(String path) {
+        return addScreenCaptureFromPath(path, null);
+    }
+
+    /**
+     * Only embedded in the Extent report, a streamed record has no file to link to.
+     */
+    public BufferedExtentTest addScreenCaptureFromBase64String(String base64, String title) {
+        record.add(new TestRecord.Entry(Status.INFO, title, null, base64, null));
+        return this;
+    }
+
+    public BufferedExtentTest addScreenCaptureFromBase64String(String base64) {
+        return addScreenCaptureFromBase64String(base64, null);
+    }
+
+    /**
+     * Status of the entries buffered so far.
+     */
+    public Status getStatus() {
+        synchronized (record) {
+            return record.status;
+        }
+    }
+}
@@ -2,37 +2,96 @@ package uiTestFramework.extentReportManagers;
 
 import com.aventstack.extentreports.ExtentReports;
 import com.aventstack.extentreports.reporter.ExtentSparkReporter;
+import uiTestFramework.config.Config;
 
 import java.io.File;
+import java.nio.file.Path;
 import java.text.SimpleDateFormat;
 import java.util.Date;
 
 public class ExtentManager {
 
-    private static ExtentReports extent;
+    private static volatile ExtentReports extent;
+    private static volatile StreamingReport streamingReport;
+    private static volatile ExtentReplay replay;
+    private static volatile ReportSink sink;
+    private static volatile String reportPath;
 
-    public synchronized static ExtentReports createInstance(String suiteName) {
+    public static ExtentReports createInstance(String suiteName) {
 
-        if (extent == null) {
-            String timestamp = new SimpleDateFormat("yyyy-MM-dd_HH-mm-ss").format(new Date());
-            String reportFile = suiteName + "_" + timestamp + ".html";
+        if (sink == null) {
+            synchronized (ExtentManager.class) {
+                if (sink == null) {
+                    String timestamp = new SimpleDateFormat("yyyy-MM-dd_HH-mm-ss").format(new Date());
+                    String reportFile = suiteName + "_" + timestamp + ".html";
 
-            File reportsDir = new File("reports");
-            if (!reportsDir.exists()) {
-                reportsDir.mkdirs();
-            }
+                    File reportsDir = new File("reports");
+                    if (!reportsDir.exists()) {
+                        reportsDir.mkdirs();
+                    }
 
-            String reportPath = "reports/" + reportFile;
+                    reportPath = "reports/" + reportFile;
 
-            ExtentSparkReporter spark = new ExtentSparkReporter(reportPath);
+                    if (Config.getConfigInstance().isStreamingReport()) {
+                        streamingReport = new StreamingReport(suiteName, Path.of(reportPath));
+                        sink = streamingReport;
+                    } else {
+                        ExtentSparkReporter spark = new ExtentSparkReporter(reportPath);
 
-            extent = new ExtentReports();
-            extent.attachReporter(spark);
+                        extent = new ExtentReports();
+                        extent.attachReporter(spark);
+                        replay = new ExtentReplay(extent);
+                        sink = replay;
+                    }
+                }
+            }
         }
         return extent;
     }
 
+    /**
+     * Null in streaming report mode. Tests report through {@link ExtentTestManager}, which buffers
+     * per thread and only merges finished tests into this instance.
+     */
     public static ExtentReports getExtent() {
         return extent;
     }
+
+    /**
+     * Path of the HTML report of this run, null before {@link #createInstance(String)}.
+     */
+    public static String getReportPath() {
+        return reportPath;
+    }
+
+    public static boolean isStreaming() {
+        return streamingReport != null;
+    }
+
+    static ReportSink getSink() {
+        return sink;
+    }
+
+    /**
+     * Waits until every test ended so far is merged into the Extent report.
+     */
+    public static void awaitMerged() {
+        if (replay != null) {
+            replay.awaitMerged();
+        }
+    }
+
+    /**
+     * Writes the HTML report, in streaming mode assembled from the results streamed so far.
+     */
+    public static void flush() {
+        if (streamingReport != null) {
+            streamingReport.close();
+        } else if (extent != null) {
+            awaitMerged();
+            synchronized (extent) {
+                extent.flush();
+            }
+        }
+    }
 }
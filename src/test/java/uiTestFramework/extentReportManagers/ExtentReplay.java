@@ -0,0 +1,81 @@
+package uiTestFramework.extentReportManagers;
+
+import com.aventstack.extentreports.ExtentReports;
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.MediaEntityBuilder;
+import com.aventstack.extentreports.markuputils.MarkupHelper;
+import com.aventstack.extentreports.model.Log;
+import com.aventstack.extentreports.model.Media;
+
+import uiTestFramework.Utilities.VirtualThreads;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Replays finished {@link TestRecord}s into the shared {@link ExtentReports} on a single merger
+ * thread. Test threads only hand the record over, so they never contend on the report, and the
+ * report itself is only ever touched by one thread at a time.
+ */
+final class ExtentReplay implements ReportSink {
+
+    private final ExtentReports extent;
+    private final ExecutorService merger = Executors.newSingleThreadExecutor(VirtualThreads.factory("extent-merger"));
+
+    ExtentReplay(ExtentReports extent) {
+        this.extent = extent;
+    }
+
+    @Override
+    public void write(TestRecord record) {
+        merger.execute(() -> replay(record));
+    }
+
+    /**
+     * Waits until every record handed over so far is merged into the report.
+     */
+    void awaitMerged() {
+        try {
+            merger.submit(() -> { }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            System.err.println("Warn: Could not merge test results: " + e.getCause());
+        }
+    }
+
+    private void replay(TestRecord record) {
+        synchronized (extent) {
+            ExtentTest test = extent.createTest(record.name);
+            test.getModel().setStartTime(new Date(record.start));
+            for (TestRecord.Entry entry : record.entries) {
+                Media media = toMedia(entry);
+                if (entry.table != null) {
+                    test.log(entry.status, MarkupHelper.createTable(entry.table), media);
+                } else {
+                    test.log(entry.status, entry.message, media);
+                }
+                // Logged after the fact, so keep the time the entry was actually recorded
+                List<Log> logs = test.getModel().getLogs();
+                logs.get(logs.size() - 1).setTimestamp(new Date(entry.time));
+            }
+            test.getModel().setEndTime(new Date(record.end));
+        }
+    }
+
+    /**
+     * Embeds the first occurrence of a frame, repeats of it are linked relative to the reports/ folder.
+     */
+    private static Media toMedia(TestRecord.Entry entry) {
+        if (entry.screenshotBase64 != null && !entry.screenshotBase64.isEmpty()) {
+            return MediaEntityBuilder.createScreenCaptureFromBase64String(entry.screenshotBase64).build();
+        }
+        if (entry.screenshot != null) {
+            return MediaEntityBuilder.createScreenCaptureFromPath(entry.screenshot).build();
+        }
+        return null;
+    }
+}
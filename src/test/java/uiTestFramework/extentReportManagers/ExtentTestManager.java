@@ -1,25 +1,81 @@
 package uiTestFramework.extentReportManagers;
 
-import com.aventstack.extentreports.ExtentReports;
-import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.Status;
+import uiTestFramework.Utilities.ScreenshotUtil;
+import uiTestFramework.Utilities.TestContext;
 
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Report record of the current test, kept in its {@link TestContext}. Everything logged is buffered
+ * in that test confined {@link TestRecord}, so parallel tests never contend on the shared report
+ * while running. The record is merged into the report, or streamed in streaming mode, when the
+ * test ends.
+ */
 public class ExtentTestManager {
 
-    private static final ThreadLocal<ExtentTest> test = new ThreadLocal<>();
+    private static final TestContext.Key<TestRecord> RECORD = new TestContext.Key<>("testRecord");
 
-    public static ExtentTest getTest() {
-        return test.get();
+    /**
+     * The current test's record behind the logging methods of an {@code ExtentTest}, null outside a
+     * test. There is no live {@code ExtentTest} while a test runs: entries reach the report when the
+     * test ends, and its status can only be read from the buffered entries.
+     *
+     * @deprecated log through {@link #log(Status, String)} and the other static methods
+     */
+    @Deprecated
+    public static BufferedExtentTest getTest() {
+        TestRecord testRecord = current();
+        return testRecord == null ? null : new BufferedExtentTest(testRecord);
     }
 
     public static void startTest(String testName) {
-        ExtentReports extent = ExtentManager.getExtent();
-        ExtentTest extentTest = extent.createTest(testName);
-        test.set(extentTest);
+        endTest(); // a test whose teardown never ran
+        TestContext.current().set(RECORD, new TestRecord(testName));
     }
 
-    public static void endTest() {
-        test.remove();
+    public static void log(Status status, String message) {
+        TestRecord testRecord = current();
+        if (testRecord != null) {
+            testRecord.add(new TestRecord.Entry(status, message, null, null, null));
+        }
     }
 
+    public static void logTable(Status status, String[][] table) {
+        TestRecord testRecord = current();
+        if (testRecord != null) {
+            testRecord.add(new TestRecord.Entry(status, null, null, null, table));
+        }
+    }
+
+    /**
+     * Attaches the screenshot once it is written, without blocking the calling thread.
+     */
+    public static void attachScreenshot(Status status, String message, CompletableFuture<ScreenshotUtil.ScreenshotData> screenshot) {
+        TestRecord testRecord = current();
+        if (testRecord == null) {
+            return;
+        }
+        testRecord.addPending(screenshot.thenAccept(screenshotData -> {
+            if (screenshotData.getPath() != null) {
+                testRecord.add(new TestRecord.Entry(status, message, "../" + screenshotData.getPath(), screenshotData.getBase64(), null));
+            }
+        }));
+    }
 
+    public static void endTest() {
+        TestContext context = TestContext.peek();
+        TestRecord testRecord = context == null ? null : context.remove(RECORD);
+        if (testRecord != null) {
+            ReportSink sink = ExtentManager.getSink();
+            if (sink != null) {
+                testRecord.finish(sink);
+            }
+        }
+    }
+
+    private static TestRecord current() {
+        TestContext context = TestContext.peek();
+        return context == null ? null : context.get(RECORD);
+    }
 }
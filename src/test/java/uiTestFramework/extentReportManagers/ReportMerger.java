@@ -0,0 +1,52 @@
+package uiTestFramework.extentReportManagers;
+
+import com.google.gson.Gson;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Merges the streamed results ({@code reportMode=stream}) of several runs, e.g. the shards of a
+ * suite, into one streaming report. Screenshot links are rewritten to stay valid from the merged
+ * report's folder.
+ */
+public final class ReportMerger {
+
+    private static final Gson gson = new Gson();
+
+    private ReportMerger(){
+        //prevent instantiation
+    }
+
+    /**
+     * @param streams the {@code .jsonl} result streams, each next to the report it belongs to
+     * @return number of merged tests
+     */
+    public static int merge(String title, List<Path> streams, Path mergedHtml) throws IOException {
+        StreamingReport merged = new StreamingReport(title, mergedHtml);
+        Path mergedDir = mergedHtml.toAbsolutePath().getParent();
+        int tests = 0;
+        for (Path stream : streams) {
+            Path streamDir = stream.toAbsolutePath().getParent();
+            try (BufferedReader in = Files.newBufferedReader(stream)) {
+                String line;
+                while ((line = in.readLine()) != null) {
+                    if (line.isBlank()) {
+                        continue;
+                    }
+                    TestRecord record = gson.fromJson(line, TestRecord.class);
+                    record.entries.replaceAll(entry -> entry.screenshot == null ? entry
+                            : entry.withScreenshot(mergedDir.relativize(streamDir.resolve(entry.screenshot).normalize())
+                            .toString().replace('\\', '/')));
+                    merged.write(record);
+                    tests++;
+                }
+            }
+        }
+        merged.close();
+        return tests;
+    }
+}
@@ -0,0 +1,9 @@
+package uiTestFramework.extentReportManagers;
+
+/**
+ * Destination of finished {@link TestRecord}s.
+ */
+interface ReportSink {
+
+    void write(TestRecord record);
+}
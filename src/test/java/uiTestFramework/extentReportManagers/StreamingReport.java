@@ -0,0 +1,166 @@
+package uiTestFramework.extentReportManagers;
+
+import com.aventstack.extentreports.Status;
+import com.google.gson.Gson;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Report for {@code reportMode=stream}: every test is appended to a JSON lines file the moment it
+ * ends and dropped from memory, so heap use does not grow with the suite. At the end the HTML
+ * report is rendered from that file line by line, with screenshots linked rather than inlined.
+ */
+final class StreamingReport implements ReportSink {
+
+    private static final Gson gson = new Gson();
+
+    private final String title;
+    private final Path htmlPath;
+    private final Path streamPath;
+    private final BufferedWriter stream;
+    // Not synchronized: a virtual thread blocked on the file in there would pin its carrier
+    private final ReentrantLock lock = new ReentrantLock();
+    private boolean closed;
+
+    StreamingReport(String title, Path htmlPath) {
+        this.title = title;
+        this.htmlPath = htmlPath;
+        String fileName = htmlPath.getFileName().toString();
+        this.streamPath = htmlPath.resolveSibling(fileName.substring(0, fileName.lastIndexOf('.')) + ".jsonl");
+        try {
+            Files.createDirectories(htmlPath.toAbsolutePath().getParent());
+            this.stream = Files.newBufferedWriter(streamPath);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create report stream " + streamPath, e);
+        }
+    }
+
+    Path getStreamPath() {
+        return streamPath;
+    }
+
+    @Override
+    public void write(TestRecord record) {
+        String line = gson.toJson(record);
+        lock.lock();
+        try {
+            if (closed) {
+                System.err.println("Warn: Report already written, dropping result of " + record.name);
+                return;
+            }
+            stream.write(line);
+            stream.newLine();
+            // Flushed per test, so a crashed run still leaves every finished result on disk
+            stream.flush();
+        } catch (IOException e) {
+            System.err.println("Warn: Could not stream result of " + record.name + ": " + e.getMessage());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Closes the stream and renders the HTML report from it.
+     */
+    void close() {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            stream.close();
+            render();
+        } catch (IOException e) {
+            System.err.println("Err: Could not write report " + htmlPath + ": " + e.getMessage());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void render() throws IOException {
+        // First pass only counts, so the summary can go on top without holding the tests in memory
+        Map<Status, Integer> counts = new EnumMap<>(Status.class);
+        int total = 0;
+        try (BufferedReader in = Files.newBufferedReader(streamPath)) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (!line.isBlank()) {
+                    counts.merge(gson.fromJson(line, TestRecord.class).status, 1, Integer::sum);
+                    total++;
+                }
+            }
+        }
+
+        try (BufferedReader in = Files.newBufferedReader(streamPath);
+             BufferedWriter out = Files.newBufferedWriter(htmlPath)) {
+            out.write("<!DOCTYPE html>\n<html><head><meta charset=\"utf-8\"><title>" + escape(title) + "</title>\n");
+            out.write("<style>body{font-family:sans-serif;margin:2em}details{border:1px solid #ddd;margin:.3em 0;padding:.4em}"
+                    + ".pass{color:#2e7d32}.fail{color:#c62828}.skip{color:#ef6c00}.warning{color:#f9a825}.info{color:#555}"
+                    + "table{border-collapse:collapse}td,th{border:1px solid #ddd;padding:2px 6px}"
+                    + "img{max-width:100%;border:1px solid #ccc}pre{white-space:pre-wrap}</style></head><body>\n");
+            out.write("<h1>" + escape(title) + "</h1>\n<p>" + total + " test(s)");
+            for (Map.Entry<Status, Integer> count : counts.entrySet()) {
+                out.write(" &middot; <span class=\"" + count.getKey().toLower() + "\">" + count.getValue() + " "
+                        + count.getKey().toLower() + "</span>");
+            }
+            out.write("</p>\n");
+
+            SimpleDateFormat time = new SimpleDateFormat("HH:mm:ss.SSS");
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                TestRecord record = gson.fromJson(line, TestRecord.class);
+                out.write("<details" + (record.status == Status.FAIL ? " open" : "") + "><summary><b class=\""
+                        + record.status.toLower() + "\">" + record.status + "</b> " + escape(record.name) + " ("
+                        + (record.end - record.start) + " ms)</summary>\n");
+                for (TestRecord.Entry entry : record.entries) {
+                    out.write("<div><span class=\"" + entry.status.toLower() + "\">" + time.format(new Date(entry.time))
+                            + " " + entry.status + "</span> ");
+                    if (entry.message != null) {
+                        out.write("<pre>" + escape(entry.message) + "</pre>");
+                    }
+                    if (entry.table != null) {
+                        writeTable(out, entry.table);
+                    }
+                    if (entry.screenshot != null) {
+                        out.write("<a href=\"" + escape(entry.screenshot) + "\"><img loading=\"lazy\" src=\""
+                                + escape(entry.screenshot) + "\"></a>");
+                    }
+                    out.write("</div>\n");
+                }
+                out.write("</details>\n");
+            }
+            out.write("</body></html>\n");
+        }
+    }
+
+    private static void writeTable(BufferedWriter out, String[][] table) throws IOException {
+        out.write("<table>");
+        for (int row = 0; row < table.length; row++) {
+            out.write("<tr>");
+            for (String cell : table[row]) {
+                String tag = row == 0 ? "th" : "td";
+                out.write("<" + tag + ">" + escape(cell) + "</" + tag + ">");
+            }
+            out.write("</tr>");
+        }
+        out.write("</table>");
+    }
+
+    private static String escape(String text) {
+        return text == null ? "" : text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+}
@@ -0,0 +1,84 @@
+package uiTestFramework.extentReportManagers;
+
+import com.aventstack.extentreports.Status;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Result of one test, buffered by the test thread and handed to a {@link ReportSink} when the
+ * test ends: replayed into the Extent report, or written out as one JSON line in streaming mode.
+ */
+final class TestRecord {
+
+    final String name;
+    final long start;
+    long end;
+    Status status = Status.PASS;
+    final List<Entry> entries = new ArrayList<>();
+
+    /** Screenshots still being written, the record is streamed once they are attached. */
+    final transient List<CompletableFuture<?>> pending = new ArrayList<>();
+
+    TestRecord(String name) {
+        this.name = name;
+        this.start = System.currentTimeMillis();
+    }
+
+    synchronized void add(Entry entry) {
+        entries.add(entry);
+        if (entry.status != Status.INFO) {
+            status = Status.max(status, entry.status);
+        }
+    }
+
+    synchronized void addPending(CompletableFuture<?> future) {
+        pending.add(future);
+    }
+
+    /**
+     * Streams the record to the report once every pending attachment is done.
+     */
+    void finish(ReportSink sink) {
+        CompletableFuture<?>[] waiting;
+        synchronized (this) {
+            end = System.currentTimeMillis();
+            waiting = pending.toArray(new CompletableFuture<?>[0]);
+        }
+        CompletableFuture.allOf(waiting).whenComplete((ignored, e) -> {
+            synchronized (this) {
+                sink.write(this);
+            }
+        });
+    }
+
+    static final class Entry {
+
+        final long time;
+        final Status status;
+        final String message;
+        /** Screenshot path relative to the report */
+        final String screenshot;
+        /** Inlined screenshot, only for the Extent report */
+        final transient String screenshotBase64;
+        final String[][] table;
+
+        Entry(Status status, String message, String screenshot, String screenshotBase64, String[][] table) {
+            this(System.currentTimeMillis(), status, message, screenshot, screenshotBase64, table);
+        }
+
+        private Entry(long time, Status status, String message, String screenshot, String screenshotBase64, String[][] table) {
+            this.time = time;
+            this.status = status;
+            this.message = message;
+            this.screenshot = screenshot;
+            this.screenshotBase64 = screenshotBase64;
+            this.table = table;
+        }
+
+        Entry withScreenshot(String path) {
+            return new Entry(time, status, message, path, screenshotBase64, table);
+        }
+    }
+}
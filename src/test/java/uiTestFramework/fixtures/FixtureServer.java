@@ -0,0 +1,231 @@
+package uiTestFramework.fixtures;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.logging.log4j.Logger;
+import uiTestFramework.Utilities.FrameworkException;
+import uiTestFramework.Utilities.LoggerUtil;
+import uiTestFramework.Utilities.VirtualThreads;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * In-process web server on the JDK HTTP server serving pages with controllable misbehaviour,
+ * for testing the framework itself without the application under test:
+ * <ul>
+ *     <li>{@code /delayed?ms=N} a message that only shows, and a button that is only enabled, after N ms,
+ *     behind a spinner that goes away at the same time</li>
+ *     <li>{@code /stale?ms=N} a message whose element is swapped for an identical one after N ms</li>
+ *     <li>{@code /intercepted?ms=N} a button covered by an overlay for N ms</li>
+ *     <li>{@code /form} a login form that submits to {@code /welcome}</li>
+ *     <li>{@code /table?rows=N} a table of N rows</li>
+ * </ul>
+ * Any page takes {@code delay=N} to answer N ms late, as a slow load.
+ * <p>
+ * The timing lives in {@code data-*} attributes ({@code data-show-after}, {@code data-hide-after},
+ * {@code data-enable-after}, {@code data-remove-after}, {@code data-replace-after},
+ * {@code data-covered-for}, {@code data-click-shows}), applied by an inline script in a real browser
+ * and emulated by {@link StubDriver}. Pages are well-formed XML so the stub driver can parse them.
+ */
+public final class FixtureServer implements AutoCloseable {
+
+    private static final Logger log = LoggerUtil.getLogger(FixtureServer.class);
+
+    private static final String BEHAVIOUR_SCRIPT = """
+            //<![CDATA[
+            (function () {
+              function after(attribute, action) {
+                Array.prototype.forEach.call(document.querySelectorAll('[' + attribute + ']'), function (el) {
+                  setTimeout(function () { action(el); }, Number(el.getAttribute(attribute)));
+                });
+              }
+              after('data-show-after', function (el) { el.hidden = false; });
+              after('data-hide-after', function (el) { el.hidden = true; });
+              after('data-enable-after', function (el) { el.disabled = false; });
+              after('data-remove-after', function (el) { el.remove(); });
+              after('data-replace-after', function (el) {
+                var copy = el.cloneNode(true);
+                copy.removeAttribute('data-replace-after');
+                el.replaceWith(copy);
+              });
+              Array.prototype.forEach.call(document.querySelectorAll('[data-covered-for]'), function (el) {
+                var rect = el.getBoundingClientRect(), overlay = document.createElement('div');
+                overlay.className = 'fixture-overlay';
+                overlay.style.cssText = 'position:absolute;background:rgba(0,0,0,0.3);left:' + (rect.left + window.scrollX)
+                    + 'px;top:' + (rect.top + window.scrollY) + 'px;width:' + rect.width + 'px;height:' + rect.height + 'px';
+                document.body.appendChild(overlay);
+                setTimeout(function () { overlay.remove(); }, Number(el.getAttribute('data-covered-for')));
+              });
+              document.addEventListener('click', function (event) {
+                var el = event.target.closest('[data-click-shows]');
+                if (el) { document.getElementById(el.getAttribute('data-click-shows')).hidden = false; }
+              });
+            })();
+            //]]>
+            """;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final AtomicInteger requests = new AtomicInteger();
+
+    private FixtureServer(HttpServer server, ExecutorService executor){
+        this.server = server;
+        this.executor = executor;
+    }
+
+    /**
+     * Starts a server on a free port of the loopback interface.
+     */
+    public static FixtureServer start(){
+        HttpServer httpServer;
+        try {
+            httpServer = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        } catch (IOException e) {
+            throw new FrameworkException("Could not start the fixture server", e);
+        }
+        ExecutorService executor = Executors.newCachedThreadPool(VirtualThreads.factory("fixture-server"));
+        FixtureServer fixtureServer = new FixtureServer(httpServer, executor);
+
+        fixtureServer.page("/delayed", query -> {
+            int ms = intParameter(query, "ms", 500);
+            return page("Delayed", """
+                    <div id="spinner" data-remove-after="%1$d">Loading</div>
+                    <p id="message" hidden="hidden" data-show-after="%1$d">Loaded</p>
+                    <button id="submit" disabled="disabled" data-enable-after="%1$d" data-click-shows="result">Submit</button>
+                    <p id="result" hidden="hidden">Submitted</p>
+                    """.formatted(ms));
+        });
+        fixtureServer.page("/stale", query -> page("Stale", """
+                <p id="message" data-replace-after="%d">Swapped</p>
+                """.formatted(intParameter(query, "ms", 500))));
+        fixtureServer.page("/intercepted", query -> page("Intercepted", """
+                <button id="button" data-covered-for="%d" data-click-shows="result">Click me</button>
+                <p id="result" hidden="hidden">Clicked</p>
+                """.formatted(intParameter(query, "ms", 500))));
+        fixtureServer.page("/form", query -> page("Login", """
+                <form id="login-form" action="/welcome" method="get">
+                  <input id="username" name="username" type="text"/>
+                  <input id="password" name="password" type="password"/>
+                  <button id="login" type="submit">Login</button>
+                </form>
+                """));
+        fixtureServer.page("/welcome", query -> page("Welcome", """
+                <h1 id="greeting">Welcome %s</h1>
+                """.formatted(escape(query.getOrDefault("username", "")))));
+        fixtureServer.page("/table", query -> {
+            StringBuilder rows = new StringBuilder();
+            for (int row = 1; row <= intParameter(query, "rows", 10); row++) {
+                rows.append("<tr class=\"row\"><td>").append(row).append("</td><td>Name ").append(row)
+                        .append("</td><td>").append(row % 2 == 0 ? "Enabled" : "Disabled").append("</td></tr>\n");
+            }
+            return page("Table", "<table id=\"records\">\n" + rows + "</table>\n");
+        });
+        fixtureServer.page("/", query -> page("Fixtures", """
+                <ul id="fixtures">
+                  <li><a href="/delayed">delayed</a></li>
+                  <li><a href="/stale">stale</a></li>
+                  <li><a href="/intercepted">intercepted</a></li>
+                  <li><a href="/form">form</a></li>
+                  <li><a href="/table">table</a></li>
+                </ul>
+                """));
+
+        httpServer.setExecutor(executor);
+        httpServer.start();
+        log.info("Fixture server listening on {}", fixtureServer.url("/"));
+        return fixtureServer;
+    }
+
+    /**
+     * Absolute url of a path on this server, e.g. {@code url("/delayed?ms=200")}.
+     */
+    public String url(String path){
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort() + path;
+    }
+
+    /**
+     * Requests answered so far.
+     */
+    public int requestCount(){
+        return requests.get();
+    }
+
+    @Override
+    public void close(){
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void page(String path, Function<Map<String, String>, String> body){
+        server.createContext(path, exchange -> {
+            try (exchange) {
+                requests.incrementAndGet();
+                Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+                // Exact paths only, the context of "/" would otherwise answer every unknown url
+                boolean known = exchange.getRequestURI().getPath().equals(path);
+                sleep(intParameter(query, "delay", 0));
+                respond(exchange, known ? 200 : 404, known ? body.apply(query) : page("Not found", "<p id=\"message\">Not found</p>\n"));
+            }
+        });
+    }
+
+    private static void respond(HttpExchange exchange, int status, String html) throws IOException {
+        byte[] bytes = html.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/html; charset=utf-8");
+        exchange.getResponseHeaders().set("Cache-Control", "no-store");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static String page(String title, String body){
+        return "<!DOCTYPE html>\n<html>\n<head>\n<title>" + title + "</title>\n</head>\n<body>\n" + body
+                + "<script>\n" + BEHAVIOUR_SCRIPT + "</script>\n</body>\n</html>\n";
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery){
+        Map<String, String> query = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return query;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int equals = pair.indexOf('=');
+            String name = equals < 0 ? pair : pair.substring(0, equals);
+            String value = equals < 0 ? "" : pair.substring(equals + 1);
+            query.put(URLDecoder.decode(name, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return query;
+    }
+
+    private static int intParameter(Map<String, String> query, String name, int defaultValue){
+        String value = query.get(name);
+        return value == null || value.isBlank() ? defaultValue : Integer.parseInt(value.trim());
+    }
+
+    private static void sleep(int millis){
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static String escape(String text){
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+}
@@ -0,0 +1,974 @@
+package uiTestFramework.fixtures;
+
+import org.openqa.selenium.Alert;
+import org.openqa.selenium.By;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.ElementClickInterceptedException;
+import org.openqa.selenium.ElementNotInteractableException;
+import org.openqa.selenium.InvalidArgumentException;
+import org.openqa.selenium.InvalidElementStateException;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.Keys;
+import org.openqa.selenium.NoAlertPresentException;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.NoSuchFrameException;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.NoSuchWindowException;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.UnsupportedCommandException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WindowType;
+import org.openqa.selenium.logging.Logs;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.SAXParseException;
+import org.xml.sax.helpers.DefaultHandler;
+
+import javax.imageio.ImageIO;
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.net.HttpCookie;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * A WebDriver without a browser, selected with {@code browser=stub}, for testing the framework
+ * itself in milliseconds per case. It loads pages over HTTP, parses them as XML and emulates what
+ * the {@link FixtureServer} pages do in a browser: elements showing, hiding, being enabled,
+ * removed or swapped after a delay, clicks intercepted by an overlay, links, GET forms and cookies.
+ * <p>
+ * It runs no JavaScript engine: the framework's own scripts (fused actions, bulk reads, event driven
+ * waits, storage capture and restore) are recognised and emulated on the page, see
+ * {@link StubScripts}, and any other script fails. Layout is not computed, every displayed element is
+ * 100x20 at the origin, and screenshots are a window sized frame of text-like stripes in a colour
+ * derived from the page.
+ */
+public final class StubDriver implements WebDriver, TakesScreenshot, JavascriptExecutor {
+
+    private static final HttpClient http = HttpClient.newBuilder()
+            .followRedirects(HttpClient.Redirect.NEVER)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    private static final DocumentBuilderFactory parsers = newParserFactory();
+    private static final AtomicInteger sessions = new AtomicInteger();
+
+    private static final String BLANK_PAGE = "<html><head><title></title></head><body></body></html>";
+    private static final int MAX_REDIRECTS = 5;
+    private static final Set<String> NOT_RENDERED = Set.of("head", "script", "style", "title", "meta", "link", "template");
+    private static final Set<String> BOOLEAN_ATTRIBUTES = Set.of("checked", "disabled", "hidden", "readonly", "required", "selected", "multiple");
+
+    private final String windowHandle = "stub-" + sessions.incrementAndGet();
+    // Not synchronized, a virtual thread loading a page must not pin its carrier
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<String, Cookie> cookies = new LinkedHashMap<>();
+    private final List<String> history = new ArrayList<>();
+    private final List<TimedChange> pending = new ArrayList<>();
+    // Per origin, like a browser's local and session storage of a single tab
+    private final Map<String, Map<String, String>> localStorage = new LinkedHashMap<>();
+    private final Map<String, Map<String, String>> sessionStorage = new LinkedHashMap<>();
+    private final StubScripts scripts = new StubScripts(this);
+
+    private int historyIndex = -1;
+    private String currentUrl = "about:blank";
+    private Document document = parse(BLANK_PAGE, currentUrl);
+    private long loadedAt = System.nanoTime();
+    private Duration implicitWait = Duration.ZERO;
+    private Duration pageLoadTimeout = Duration.ofSeconds(300);
+    private Duration scriptTimeout = Duration.ofSeconds(30);
+    private Dimension windowSize = new Dimension(1280, 800);
+    private Point windowPosition = new Point(0, 0);
+    // Last frame, repainted only once the page or the window size changed
+    private byte[] lastFrame;
+    private int lastFrameSeed;
+    private Dimension lastFrameSize;
+    private volatile boolean quit;
+
+    /* ---------------- WebDriver ---------------- */
+
+    @Override
+    public void get(String url){
+        locked(() -> {
+            navigateTo(url);
+            return null;
+        });
+    }
+
+    @Override
+    public String getCurrentUrl(){
+        return locked(() -> currentUrl);
+    }
+
+    @Override
+    public String getTitle(){
+        return locked(() -> {
+            Node title = document.getElementsByTagName("title").item(0);
+            return title == null ? "" : title.getTextContent().trim();
+        });
+    }
+
+    @Override
+    public List<WebElement> findElements(By by){
+        return findElements(null, by);
+    }
+
+    @Override
+    public WebElement findElement(By by){
+        return findElement(null, by);
+    }
+
+    @Override
+    public String getPageSource(){
+        return locked(this::serialize);
+    }
+
+    @Override
+    public void close(){
+        // There is only one window, closing it ends the session like in a browser
+        quit();
+    }
+
+    @Override
+    public void quit(){
+        lock.lock();
+        try {
+            quit = true;
+            cookies.clear();
+            pending.clear();
+            localStorage.clear();
+            sessionStorage.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Set<String> getWindowHandles(){
+        return locked(() -> Set.of(windowHandle));
+    }
+
+    @Override
+    public String getWindowHandle(){
+        return locked(() -> windowHandle);
+    }
+
+    @Override
+    public TargetLocator switchTo(){
+        return new StubTargetLocator();
+    }
+
+    @Override
+    public Navigation navigate(){
+        return new StubNavigation();
+    }
+
+    @Override
+    public Options manage(){
+        return new StubOptions();
+    }
+
+    @Override
+    public <X> X getScreenshotAs(OutputType<X> target){
+        return target.convertFromPngBytes(locked(this::screenshot));
+    }
+
+    @Override
+    public Object executeScript(String script, Object... args){
+        return scripts.execute(script, args);
+    }
+
+    @Override
+    public Object executeAsyncScript(String script, Object... args){
+        return scripts.executeAsync(script, args);
+    }
+
+    @Override
+    public String toString(){
+        return "StubDriver (" + windowHandle + ")";
+    }
+
+    /* ---------------- elements, called by StubElement ---------------- */
+
+    List<WebElement> findElements(StubElement context, By by){
+        return locked(() -> {
+            Node root = context == null ? document : attached(context.node());
+            List<WebElement> found = new ArrayList<>();
+            for (Element element : locate(root, context, by)) {
+                found.add(new StubElement(this, element));
+            }
+            return found;
+        });
+    }
+
+    WebElement findElement(StubElement context, By by){
+        long deadline = System.nanoTime() + implicitWait.toNanos();
+        while (true) {
+            List<WebElement> found = findElements(context, by);
+            if (!found.isEmpty()) {
+                return found.get(0);
+            }
+            if (System.nanoTime() >= deadline) {
+                throw new NoSuchElementException("no such element: Unable to locate element: " + by);
+            }
+            pause(Math.min(50, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()) + 1));
+        }
+    }
+
+    <T> T locked(Supplier<T> command){
+        lock.lock();
+        try {
+            if (quit) {
+                throw new NoSuchSessionException("Session " + windowHandle + " was quit");
+            }
+            applyDueChanges();
+            return command.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * The element, or a stale element exception when it is no longer part of the page.
+     */
+    Element attached(Element element){
+        if (!isAttached(element)) {
+            throw new StaleElementReferenceException("stale element reference: element is not attached to the page document");
+        }
+        return element;
+    }
+
+    boolean isAttached(Element element){
+        Node node = element;
+        while (node.getParentNode() != null) {
+            node = node.getParentNode();
+        }
+        return node == document;
+    }
+
+    Document document(){
+        return document;
+    }
+
+    Duration scriptTimeout(){
+        return scriptTimeout;
+    }
+
+    boolean isDisplayed(Element element){
+        for (Node node = element; node instanceof Element current; node = current.getParentNode()) {
+            String style = current.getAttribute("style").replace(" ", "").toLowerCase(Locale.ROOT);
+            if (NOT_RENDERED.contains(tagName(current)) || current.hasAttribute("hidden")
+                    || style.contains("display:none") || style.contains("visibility:hidden")
+                    || (tagName(current).equals("input") && current.getAttribute("type").equalsIgnoreCase("hidden"))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Text as rendered: hidden descendants left out, whitespace collapsed.
+     */
+    String visibleText(Element element){
+        if (!isDisplayed(element)) {
+            return "";
+        }
+        StringBuilder text = new StringBuilder();
+        appendText(element, text);
+        return text.toString().replaceAll("\\s+", " ").trim();
+    }
+
+    void click(Element element){
+        attached(element);
+        if (!isDisplayed(element)) {
+            throw new ElementNotInteractableException("element not interactable: " + describe(element) + " is not displayed");
+        }
+        if (isCovered(element)) {
+            throw new ElementClickInterceptedException("element click intercepted: " + describe(element)
+                    + " is not clickable at point (50, 10). Other element would receive the click: <div class=\"fixture-overlay\">");
+        }
+        activate(element);
+    }
+
+    boolean isCovered(Element element){
+        String coveredFor = element.getAttribute("data-covered-for");
+        return !coveredFor.isEmpty() && elapsedMillis() < Long.parseLong(coveredFor.trim());
+    }
+
+    /**
+     * What a click does once it reaches the element, also for {@code el.click()} in a script.
+     */
+    void activate(Element element){
+        if (element.hasAttribute("disabled")) {
+            // Browsers swallow clicks on disabled controls
+            return;
+        }
+
+        Element shows = closest(element, el -> el.hasAttribute("data-click-shows"));
+        if (shows != null) {
+            // Without a DTD the parser knows no id attributes, so getElementById finds nothing
+            for (Element target : StubLocators.find(document, new By.Remotable.Parameters("id", shows.getAttribute("data-click-shows")), el -> false)) {
+                target.removeAttribute("hidden");
+            }
+        }
+
+        Element link = closest(element, el -> tagName(el).equals("a") && el.hasAttribute("href"));
+        if (link != null) {
+            navigateTo(resolve(link.getAttribute("href")));
+            return;
+        }
+        boolean submits = (tagName(element).equals("button") && !element.getAttribute("type").equalsIgnoreCase("button")
+                && !element.getAttribute("type").equalsIgnoreCase("reset"))
+                || (tagName(element).equals("input") && element.getAttribute("type").equalsIgnoreCase("submit"));
+        Element form = closest(element, el -> tagName(el).equals("form"));
+        if (submits && form != null) {
+            submit(form);
+        }
+    }
+
+    void submit(Element element){
+        Element form = closest(attached(element), el -> tagName(el).equals("form"));
+        if (form == null) {
+            throw new WebDriverException("To submit an element, it must be nested inside a form element");
+        }
+        StringJoiner query = new StringJoiner("&");
+        for (Element field : StubLocators.find(form, new By.Remotable.Parameters("css selector", "input[name],textarea[name],select[name]"), el -> false)) {
+            String type = field.getAttribute("type").toLowerCase(Locale.ROOT);
+            if (field.hasAttribute("disabled") || type.equals("submit") || type.equals("button")
+                    || ((type.equals("checkbox") || type.equals("radio")) && !field.hasAttribute("checked"))) {
+                continue;
+            }
+            query.add(URLEncoder.encode(field.getAttribute("name"), StandardCharsets.UTF_8) + "="
+                    + URLEncoder.encode(field.getAttribute("value"), StandardCharsets.UTF_8));
+        }
+        String action = form.getAttribute("action").isEmpty() ? currentUrl : resolve(form.getAttribute("action"));
+        int queryStart = action.indexOf('?');
+        navigateTo((queryStart < 0 ? action : action.substring(0, queryStart)) + "?" + query);
+    }
+
+    void sendKeys(Element element, CharSequence... keys){
+        editable(element);
+        StringBuilder typed = new StringBuilder();
+        boolean enter = false;
+        for (CharSequence sequence : keys) {
+            for (int i = 0; i < sequence.length(); i++) {
+                char c = sequence.charAt(i);
+                if (c == Keys.ENTER.charAt(0) || c == Keys.RETURN.charAt(0)) {
+                    enter = true;
+                } else if (c < '\uE000' || c > '\uF8FF') {
+                    // Other Keys constants are control keys that do not type anything
+                    typed.append(c);
+                }
+            }
+        }
+        element.setAttribute("value", element.getAttribute("value") + typed);
+        if (enter && closest(element, el -> tagName(el).equals("form")) != null) {
+            submit(element);
+        }
+    }
+
+    void clear(Element element){
+        editable(element);
+        element.setAttribute("value", "");
+    }
+
+    /**
+     * {@link WebElement#getAttribute(String)}: properties like value and boolean attributes first,
+     * the attribute otherwise.
+     */
+    String attribute(Element element, String name){
+        attached(element);
+        String lower = name.toLowerCase(Locale.ROOT);
+        if (lower.equals("value") && (tagName(element).equals("input") || tagName(element).equals("textarea"))) {
+            return element.getAttribute("value");
+        }
+        if (BOOLEAN_ATTRIBUTES.contains(lower)) {
+            return element.hasAttribute(lower) ? "true" : null;
+        }
+        if (lower.equals("classname")) {
+            lower = "class";
+        }
+        if (lower.equals("textcontent") || lower.equals("innertext")) {
+            return lower.equals("innertext") ? visibleText(element) : element.getTextContent();
+        }
+        return element.hasAttribute(lower) ? element.getAttribute(lower) : null;
+    }
+
+    /**
+     * Local or session storage of the page's origin. Pages without one, like about:blank, have none.
+     */
+    Map<String, String> storage(boolean local){
+        if (!currentUrl.startsWith("http")) {
+            throw new JavascriptException("javascript error: Failed to read the '" + (local ? "localStorage" : "sessionStorage")
+                    + "' property from 'Window': Access is denied for this document.");
+        }
+        URI uri = URI.create(currentUrl);
+        String origin = uri.getScheme() + "://" + uri.getAuthority();
+        return (local ? localStorage : sessionStorage).computeIfAbsent(origin, ignored -> new LinkedHashMap<>());
+    }
+
+    byte[] screenshot(){
+        int seed = serialize().hashCode();
+        if (lastFrame != null && lastFrameSeed == seed && windowSize.equals(lastFrameSize)) {
+            return lastFrame.clone();
+        }
+        int colour = 0x404040 | (seed & 0xBFBFBF);
+        BufferedImage image = new BufferedImage(windowSize.getWidth(), windowSize.getHeight(), BufferedImage.TYPE_INT_RGB);
+        int[] pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+        int width = image.getWidth();
+        for (int i = 0; i < pixels.length; i++) {
+            int x = i % width;
+            int y = i / width;
+            // Lines of "glyphs" so encoders have about as much to do as with a real page, unlike a flat frame
+            boolean ink = (y / 4) % 5 != 4 && ((x * 31 + (y / 4) * 17 + seed) & 0x1F) < 11;
+            pixels[i] = ink ? 0x202020 : colour;
+        }
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        try {
+            ImageIO.write(image, "png", png);
+        } catch (IOException e) {
+            throw new WebDriverException("Could not encode screenshot", e);
+        }
+        lastFrame = png.toByteArray();
+        lastFrameSeed = seed;
+        lastFrameSize = windowSize;
+        return lastFrame.clone();
+    }
+
+    static String tagName(Element element){
+        return element.getTagName().toLowerCase(Locale.ROOT);
+    }
+
+    static String describe(Element element){
+        String id = element.getAttribute("id");
+        return "<" + tagName(element) + (id.isEmpty() ? "" : " id=\"" + id + "\"") + ">";
+    }
+
+    /* ---------------- page loading ---------------- */
+
+    private void navigateTo(String url){
+        while (history.size() > historyIndex + 1) {
+            history.remove(history.size() - 1);
+        }
+        load(url);
+        history.add(currentUrl);
+        historyIndex = history.size() - 1;
+    }
+
+    private void load(String url){
+        if (url.equals("about:blank")) {
+            show("about:blank", BLANK_PAGE);
+            return;
+        }
+        URI uri;
+        try {
+            uri = URI.create(url);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidArgumentException("invalid argument: " + url);
+        }
+        if (!"http".equalsIgnoreCase(uri.getScheme()) && !"https".equalsIgnoreCase(uri.getScheme())) {
+            throw new InvalidArgumentException("Stub driver only loads http(s) urls and about:blank, not " + url);
+        }
+
+        for (int redirect = 0; redirect <= MAX_REDIRECTS; redirect++) {
+            HttpResponse<String> response = fetch(uri);
+            for (String header : response.headers().allValues("Set-Cookie")) {
+                storeCookie(header);
+            }
+            String location = response.headers().firstValue("Location").orElse(null);
+            if (response.statusCode() / 100 == 3 && location != null) {
+                uri = uri.resolve(location);
+                continue;
+            }
+            show(uri.toString(), response.body());
+            return;
+        }
+        throw new WebDriverException("unknown error: net::ERR_TOO_MANY_REDIRECTS " + url);
+    }
+
+    private HttpResponse<String> fetch(URI uri){
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri).timeout(pageLoadTimeout).GET();
+        if (!cookies.isEmpty()) {
+            StringJoiner header = new StringJoiner("; ");
+            cookies.values().forEach(cookie -> header.add(cookie.getName() + "=" + cookie.getValue()));
+            request.header("Cookie", header.toString());
+        }
+        try {
+            return http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        } catch (HttpTimeoutException e) {
+            throw new TimeoutException("timeout: Timed out receiving message from renderer loading " + uri);
+        } catch (IOException e) {
+            throw new WebDriverException("unknown error: net::ERR_CONNECTION_REFUSED " + uri, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WebDriverException("Interrupted while loading " + uri, e);
+        }
+    }
+
+    private void show(String url, String html){
+        document = parse(html, url);
+        currentUrl = url;
+        loadedAt = System.nanoTime();
+        pending.clear();
+        scheduleChanges();
+    }
+
+    private void storeCookie(String header){
+        for (HttpCookie cookie : HttpCookie.parse(header)) {
+            if (cookie.getMaxAge() == 0) {
+                cookies.remove(cookie.getName());
+            } else {
+                cookies.put(cookie.getName(), new Cookie(cookie.getName(), cookie.getValue()));
+            }
+        }
+    }
+
+    private String resolve(String href){
+        return currentUrl.equals("about:blank") ? href : URI.create(currentUrl).resolve(href).toString();
+    }
+
+    private static Document parse(String html, String url){
+        try {
+            DocumentBuilder builder = parsers.newDocumentBuilder();
+            builder.setErrorHandler(new DefaultHandler() {
+                @Override
+                public void error(SAXParseException e) throws SAXException {
+                    throw e;
+                }
+            });
+            return builder.parse(new InputSource(new StringReader(html)));
+        } catch (SAXException | IOException | ParserConfigurationException e) {
+            throw new WebDriverException("Stub driver can only load well-formed pages, " + url + " is not: " + e.getMessage(), e);
+        }
+    }
+
+    private static DocumentBuilderFactory newParserFactory(){
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(false);
+        factory.setValidating(false);
+        factory.setExpandEntityReferences(false);
+        try {
+            factory.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
+        } catch (ParserConfigurationException e) {
+            // Not every parser knows the feature, pages without an external DTD parse anyway
+        }
+        return factory;
+    }
+
+    private String serialize(){
+        try {
+            StringWriter source = new StringWriter();
+            var transformer = TransformerFactory.newInstance().newTransformer();
+            transformer.setOutputProperty(OutputKeys.OMIT_XML_DECLARATION, "yes");
+            transformer.transform(new DOMSource(document), new StreamResult(source));
+            return source.toString();
+        } catch (TransformerException e) {
+            throw new WebDriverException("Could not serialize page source", e);
+        }
+    }
+
+    /* ---------------- timed changes ---------------- */
+
+    private void scheduleChanges(){
+        for (Element element : StubLocators.find(document, new By.Remotable.Parameters("css selector", "*"), el -> false)) {
+            for (ChangeKind kind : ChangeKind.values()) {
+                String delay = element.getAttribute(kind.attribute);
+                if (!delay.isEmpty()) {
+                    pending.add(new TimedChange(loadedAt + TimeUnit.MILLISECONDS.toNanos(Long.parseLong(delay.trim())), kind, element));
+                }
+            }
+        }
+        pending.sort(Comparator.comparingLong(TimedChange::due));
+    }
+
+    private void applyDueChanges(){
+        long now = System.nanoTime();
+        while (!pending.isEmpty() && pending.get(0).due() <= now) {
+            TimedChange change = pending.remove(0);
+            Element element = change.element();
+            switch (change.kind()) {
+                case SHOW -> element.removeAttribute("hidden");
+                case HIDE -> element.setAttribute("hidden", "hidden");
+                case ENABLE -> element.removeAttribute("disabled");
+                case REMOVE -> {
+                    if (element.getParentNode() != null) {
+                        element.getParentNode().removeChild(element);
+                    }
+                }
+                case REPLACE -> {
+                    if (element.getParentNode() != null) {
+                        Element copy = (Element) element.cloneNode(true);
+                        copy.removeAttribute(ChangeKind.REPLACE.attribute);
+                        element.getParentNode().replaceChild(copy, element);
+                    }
+                }
+            }
+        }
+    }
+
+    private long elapsedMillis(){
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - loadedAt);
+    }
+
+    /* ---------------- helpers ---------------- */
+
+    private List<Element> locate(Node root, StubElement context, By by){
+        if (!(by instanceof By.Remotable remotable)) {
+            // Composite locators like ByChained resolve their parts through the context again
+            List<Element> found = new ArrayList<>();
+            for (WebElement element : context == null ? by.findElements(this) : by.findElements(context)) {
+                found.add(((StubElement) element).node());
+            }
+            return found;
+        }
+        By.Remotable.Parameters parameters = remotable.getRemoteParameters();
+        String text = String.valueOf(parameters.value());
+        return StubLocators.find(root, parameters, parameters.using().equals("link text")
+                ? el -> visibleText(el).equals(text)
+                : el -> visibleText(el).contains(text));
+    }
+
+    private void appendText(Element element, StringBuilder text){
+        for (Node child = element.getFirstChild(); child != null; child = child.getNextSibling()) {
+            if (child instanceof Element childElement) {
+                if (isDisplayed(childElement)) {
+                    text.append(tagName(childElement).equals("br") ? "\n" : "");
+                    appendText(childElement, text);
+                    text.append(' ');
+                }
+            } else if (child.getNodeType() == Node.TEXT_NODE || child.getNodeType() == Node.CDATA_SECTION_NODE) {
+                text.append(child.getNodeValue());
+            }
+        }
+    }
+
+    private void editable(Element element){
+        attached(element);
+        String tag = tagName(element);
+        if (!isDisplayed(element) || !(tag.equals("input") || tag.equals("textarea"))) {
+            throw new ElementNotInteractableException("element not interactable: " + describe(element));
+        }
+        if (element.hasAttribute("disabled") || element.hasAttribute("readonly")) {
+            throw new InvalidElementStateException("invalid element state: " + describe(element) + " is not editable");
+        }
+    }
+
+    private static Element closest(Element element, Predicate<Element> filter){
+        for (Node node = element; node instanceof Element current; node = current.getParentNode()) {
+            if (filter.test(current)) {
+                return current;
+            }
+        }
+        return null;
+    }
+
+    private static void pause(long millis){
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WebDriverException("Interrupted while locating an element", e);
+        }
+    }
+
+    private enum ChangeKind {
+        SHOW("data-show-after"),
+        HIDE("data-hide-after"),
+        ENABLE("data-enable-after"),
+        REMOVE("data-remove-after"),
+        REPLACE("data-replace-after");
+
+        private final String attribute;
+
+        ChangeKind(String attribute){
+            this.attribute = attribute;
+        }
+    }
+
+    private record TimedChange(long due, ChangeKind kind, Element element) {
+    }
+
+    /* ---------------- WebDriver sub interfaces ---------------- */
+
+    private final class StubNavigation implements Navigation {
+
+        @Override
+        public void back(){
+            locked(() -> {
+                if (historyIndex > 0) {
+                    load(history.get(--historyIndex));
+                }
+                return null;
+            });
+        }
+
+        @Override
+        public void forward(){
+            locked(() -> {
+                if (historyIndex < history.size() - 1) {
+                    load(history.get(++historyIndex));
+                }
+                return null;
+            });
+        }
+
+        @Override
+        public void to(String url){
+            get(url);
+        }
+
+        @Override
+        public void to(URL url){
+            get(url.toString());
+        }
+
+        @Override
+        public void refresh(){
+            locked(() -> {
+                load(currentUrl);
+                return null;
+            });
+        }
+    }
+
+    private final class StubTargetLocator implements TargetLocator {
+
+        @Override
+        public WebDriver frame(int index){
+            throw new NoSuchFrameException("Stub driver pages have no frames");
+        }
+
+        @Override
+        public WebDriver frame(String nameOrId){
+            throw new NoSuchFrameException("Stub driver pages have no frames");
+        }
+
+        @Override
+        public WebDriver frame(WebElement frameElement){
+            throw new NoSuchFrameException("Stub driver pages have no frames");
+        }
+
+        @Override
+        public WebDriver parentFrame(){
+            return StubDriver.this;
+        }
+
+        @Override
+        public WebDriver window(String nameOrHandle){
+            return locked(() -> {
+                if (!windowHandle.equals(nameOrHandle)) {
+                    throw new NoSuchWindowException("no such window: " + nameOrHandle);
+                }
+                return StubDriver.this;
+            });
+        }
+
+        @Override
+        public WebDriver newWindow(WindowType typeHint){
+            throw new UnsupportedCommandException("Stub driver has a single window");
+        }
+
+        @Override
+        public WebDriver defaultContent(){
+            return StubDriver.this;
+        }
+
+        @Override
+        public WebElement activeElement(){
+            return locked(() -> {
+                Node body = document.getElementsByTagName("body").item(0);
+                return new StubElement(StubDriver.this, body instanceof Element element ? element : document.getDocumentElement());
+            });
+        }
+
+        @Override
+        public Alert alert(){
+            throw new NoAlertPresentException("Stub driver shows no alerts");
+        }
+    }
+
+    private final class StubOptions implements Options {
+
+        @Override
+        public void addCookie(Cookie cookie){
+            locked(() -> cookies.put(cookie.getName(), cookie));
+        }
+
+        @Override
+        public void deleteCookieNamed(String name){
+            locked(() -> cookies.remove(name));
+        }
+
+        @Override
+        public void deleteCookie(Cookie cookie){
+            deleteCookieNamed(cookie.getName());
+        }
+
+        @Override
+        public void deleteAllCookies(){
+            locked(() -> {
+                cookies.clear();
+                return null;
+            });
+        }
+
+        @Override
+        public Set<Cookie> getCookies(){
+            return locked(() -> new HashSet<>(cookies.values()));
+        }
+
+        @Override
+        public Cookie getCookieNamed(String name){
+            return locked(() -> cookies.get(name));
+        }
+
+        @Override
+        public Timeouts timeouts(){
+            return new StubTimeouts();
+        }
+
+        @Override
+        public Window window(){
+            return new StubWindow();
+        }
+
+        @Override
+        public Logs logs(){
+            throw new UnsupportedCommandException("Stub driver keeps no logs");
+        }
+    }
+
+    private final class StubTimeouts implements Timeouts {
+
+        @Override
+        @Deprecated
+        public Timeouts implicitlyWait(long time, TimeUnit unit){
+            return implicitlyWait(Duration.ofNanos(unit.toNanos(time)));
+        }
+
+        @Override
+        public Timeouts implicitlyWait(Duration duration){
+            locked(() -> implicitWait = duration);
+            return this;
+        }
+
+        @Override
+        public Duration getImplicitWaitTimeout(){
+            return locked(() -> implicitWait);
+        }
+
+        @Override
+        @Deprecated
+        public Timeouts setScriptTimeout(long time, TimeUnit unit){
+            return scriptTimeout(Duration.ofNanos(unit.toNanos(time)));
+        }
+
+        @Override
+        public Timeouts scriptTimeout(Duration duration){
+            locked(() -> scriptTimeout = duration);
+            return this;
+        }
+
+        @Override
+        public Duration getScriptTimeout(){
+            return locked(() -> scriptTimeout);
+        }
+
+        @Override
+        @Deprecated
+        public Timeouts pageLoadTimeout(long time, TimeUnit unit){
+            return pageLoadTimeout(Duration.ofNanos(unit.toNanos(time)));
+        }
+
+        @Override
+        public Timeouts pageLoadTimeout(Duration duration){
+            locked(() -> pageLoadTimeout = duration);
+            return this;
+        }
+
+        @Override
+        public Duration getPageLoadTimeout(){
+            return locked(() -> pageLoadTimeout);
+        }
+    }
+
+    private final class StubWindow implements Window {
+
+        @Override
+        public Dimension getSize(){
+            return locked(() -> windowSize);
+        }
+
+        @Override
+        public void setSize(Dimension targetSize){
+            locked(() -> windowSize = targetSize);
+        }
+
+        @Override
+        public Point getPosition(){
+            return locked(() -> windowPosition);
+        }
+
+        @Override
+        public void setPosition(Point targetPosition){
+            locked(() -> windowPosition = targetPosition);
+        }
+
+        @Override
+        public void maximize(){
+            setSize(new Dimension(1920, 1080));
+        }
+
+        @Override
+        public void minimize(){
+            locked(() -> null);
+        }
+
+        @Override
+        public void fullscreen(){
+            maximize();
+        }
+    }
+}
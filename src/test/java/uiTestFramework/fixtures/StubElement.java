@@ -0,0 +1,164 @@
+package uiTestFramework.fixtures;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.WebElement;
+import org.w3c.dom.Element;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * An element of a {@link StubDriver} page. Every command goes through the driver, so the page's
+ * timed changes are applied first and a reference to an element that was removed or swapped
+ * throws a stale element exception, as in a browser.
+ */
+final class StubElement implements WebElement {
+
+    private final StubDriver driver;
+    private final Element node;
+
+    StubElement(StubDriver driver, Element node){
+        this.driver = driver;
+        this.node = node;
+    }
+
+    Element node(){
+        return node;
+    }
+
+    @Override
+    public void click(){
+        driver.locked(() -> {
+            driver.click(node);
+            return null;
+        });
+    }
+
+    @Override
+    public void submit(){
+        driver.locked(() -> {
+            driver.submit(node);
+            return null;
+        });
+    }
+
+    @Override
+    public void sendKeys(CharSequence... keysToSend){
+        driver.locked(() -> {
+            driver.sendKeys(node, keysToSend);
+            return null;
+        });
+    }
+
+    @Override
+    public void clear(){
+        driver.locked(() -> {
+            driver.clear(node);
+            return null;
+        });
+    }
+
+    @Override
+    public String getTagName(){
+        return driver.locked(() -> StubDriver.tagName(driver.attached(node)));
+    }
+
+    @Override
+    public String getAttribute(String name){
+        return driver.locked(() -> driver.attribute(node, name));
+    }
+
+    @Override
+    public String getDomAttribute(String name){
+        return driver.locked(() -> driver.attached(node).hasAttribute(name) ? node.getAttribute(name) : null);
+    }
+
+    @Override
+    public String getDomProperty(String name){
+        return getAttribute(name);
+    }
+
+    @Override
+    public boolean isSelected(){
+        return driver.locked(() -> driver.attached(node).hasAttribute("checked") || node.hasAttribute("selected"));
+    }
+
+    @Override
+    public boolean isEnabled(){
+        return driver.locked(() -> !driver.attached(node).hasAttribute("disabled"));
+    }
+
+    @Override
+    public String getText(){
+        return driver.locked(() -> driver.visibleText(driver.attached(node)));
+    }
+
+    @Override
+    public List<WebElement> findElements(By by){
+        return driver.findElements(this, by);
+    }
+
+    @Override
+    public WebElement findElement(By by){
+        return driver.findElement(this, by);
+    }
+
+    @Override
+    public boolean isDisplayed(){
+        return driver.locked(() -> driver.isDisplayed(driver.attached(node)));
+    }
+
+    @Override
+    public Point getLocation(){
+        return getRect().getPoint();
+    }
+
+    @Override
+    public Dimension getSize(){
+        return getRect().getDimension();
+    }
+
+    @Override
+    public Rectangle getRect(){
+        return driver.locked(() -> driver.isDisplayed(driver.attached(node))
+                ? new Rectangle(0, 0, 20, 100)
+                : new Rectangle(0, 0, 0, 0));
+    }
+
+    @Override
+    public String getCssValue(String propertyName){
+        return driver.locked(() -> {
+            boolean displayed = driver.isDisplayed(driver.attached(node));
+            return switch (propertyName.toLowerCase(Locale.ROOT)) {
+                case "display" -> displayed ? "block" : "none";
+                case "visibility" -> displayed ? "visible" : "hidden";
+                case "opacity" -> "1";
+                default -> "";
+            };
+        });
+    }
+
+    @Override
+    public <X> X getScreenshotAs(OutputType<X> target){
+        return driver.getScreenshotAs(target);
+    }
+
+    @Override
+    public boolean equals(Object other){
+        return other instanceof StubElement element && element.node == node;
+    }
+
+    @Override
+    public int hashCode(){
+        return System.identityHashCode(node);
+    }
+
+    @Override
+    public String toString(){
+        return "[" + driver + "] -> " + StubDriver.describe(node);
+    }
+}
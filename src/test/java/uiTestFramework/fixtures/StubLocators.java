@@ -0,0 +1,316 @@
+package uiTestFramework.fixtures;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.InvalidSelectorException;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+import javax.xml.xpath.XPathConstants;
+import javax.xml.xpath.XPathExpressionException;
+import javax.xml.xpath.XPathFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Predicate;
+
+/**
+ * Resolves WebDriver locators against the DOM of {@link StubDriver}: id, name, class name, tag name,
+ * link texts and xpath fully, css selectors as far as tags, ids, classes, attribute matches and the
+ * descendant and child combinators go.
+ */
+final class StubLocators {
+
+    private StubLocators(){
+        //prevent instantiation
+    }
+
+    /**
+     * Elements below {@code root} matching the locator, in document order.
+     */
+    static List<Element> find(Node root, By.Remotable.Parameters locator, Predicate<Element> linkText){
+        String value = String.valueOf(locator.value());
+        return switch (locator.using()) {
+            case "id" -> descendants(root, el -> value.equals(el.getAttribute("id")));
+            case "name" -> descendants(root, el -> value.equals(el.getAttribute("name")));
+            case "class name" -> descendants(root, el -> hasClass(el, value));
+            case "tag name" -> descendants(root, el -> el.getTagName().equalsIgnoreCase(value));
+            case "link text", "partial link text" -> descendants(root, el -> el.getTagName().equalsIgnoreCase("a") && linkText.test(el));
+            case "css selector" -> css(root, value);
+            case "xpath" -> xpath(root, value);
+            default -> throw new InvalidSelectorException("Stub driver does not support locating by " + locator.using());
+        };
+    }
+
+    private static List<Element> descendants(Node root, Predicate<Element> filter){
+        List<Element> found = new ArrayList<>();
+        collect(root, filter, found);
+        return found;
+    }
+
+    private static void collect(Node node, Predicate<Element> filter, List<Element> found){
+        for (Node child = node.getFirstChild(); child != null; child = child.getNextSibling()) {
+            if (child instanceof Element element) {
+                if (filter.test(element)) {
+                    found.add(element);
+                }
+                collect(element, filter, found);
+            }
+        }
+    }
+
+    private static List<Element> xpath(Node root, String expression){
+        try {
+            NodeList nodes = (NodeList) XPathFactory.newInstance().newXPath().evaluate(expression, root, XPathConstants.NODESET);
+            List<Element> found = new ArrayList<>();
+            for (int i = 0; i < nodes.getLength(); i++) {
+                if (nodes.item(i) instanceof Element element) {
+                    found.add(element);
+                }
+            }
+            return found;
+        } catch (XPathExpressionException e) {
+            throw new InvalidSelectorException("Invalid xpath " + expression + ": " + e.getMessage());
+        }
+    }
+
+    private static boolean hasClass(Element element, String className){
+        for (String candidate : element.getAttribute("class").trim().split("\\s+")) {
+            if (candidate.equals(className)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /* ---------------- css ---------------- */
+
+    private static List<Element> css(Node root, String selector){
+        List<List<Compound>> groups = new ArrayList<>();
+        for (String group : splitOutsideBrackets(selector)) {
+            groups.add(parseComplex(group.trim(), selector));
+        }
+        return descendants(root, el -> {
+            for (List<Compound> complex : groups) {
+                if (matches(el, complex, complex.size() - 1)) {
+                    return true;
+                }
+            }
+            return false;
+        });
+    }
+
+    /**
+     * Matches right to left: the element against the last compound, its parent or any ancestor
+     * against the ones before it, depending on the combinator.
+     */
+    private static boolean matches(Element element, List<Compound> complex, int index){
+        Compound compound = complex.get(index);
+        if (!compound.matches(element)) {
+            return false;
+        }
+        if (index == 0) {
+            return true;
+        }
+        Node parent = element.getParentNode();
+        if (compound.childOfPrevious) {
+            return parent instanceof Element parentElement && matches(parentElement, complex, index - 1);
+        }
+        for (; parent instanceof Element ancestor; parent = ancestor.getParentNode()) {
+            if (matches(ancestor, complex, index - 1)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<Compound> parseComplex(String complex, String selector){
+        List<Compound> compounds = new ArrayList<>();
+        boolean child = false;
+        int i = 0;
+        while (i < complex.length()) {
+            char c = complex.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (c == '>') {
+                child = true;
+                i++;
+            } else {
+                Compound compound = new Compound(child);
+                i = compound.parse(complex, i, selector);
+                compounds.add(compound);
+                child = false;
+            }
+        }
+        if (compounds.isEmpty() || child || compounds.get(0).childOfPrevious) {
+            throw new InvalidSelectorException("Invalid css selector " + selector);
+        }
+        return compounds;
+    }
+
+    private static List<String> splitOutsideBrackets(String selector){
+        List<String> parts = new ArrayList<>();
+        int depth = 0;
+        int start = 0;
+        for (int i = 0; i < selector.length(); i++) {
+            char c = selector.charAt(i);
+            if (c == '[') {
+                depth++;
+            } else if (c == ']') {
+                depth--;
+            } else if (c == ',' && depth == 0) {
+                parts.add(selector.substring(start, i));
+                start = i + 1;
+            }
+        }
+        parts.add(selector.substring(start));
+        return parts;
+    }
+
+    /**
+     * One compound selector, e.g. {@code input.field[name='user']}.
+     */
+    private static final class Compound {
+
+        private final boolean childOfPrevious;
+        private String tag;
+        private final List<Predicate<Element>> conditions = new ArrayList<>();
+
+        private Compound(boolean childOfPrevious){
+            this.childOfPrevious = childOfPrevious;
+        }
+
+        boolean matches(Element element){
+            if (tag != null && !element.getTagName().equalsIgnoreCase(tag)) {
+                return false;
+            }
+            for (Predicate<Element> condition : conditions) {
+                if (!condition.test(element)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        int parse(String text, int i, String selector){
+            int start = i;
+            while (i < text.length()) {
+                char c = text.charAt(i);
+                if (Character.isWhitespace(c) || c == '>') {
+                    break;
+                }
+                if (c == '*' && i == start) {
+                    i++;
+                } else if (c == '#' || c == '.') {
+                    int[] end = new int[1];
+                    String name = identifier(text, i + 1, end, selector);
+                    conditions.add(c == '#' ? el -> name.equals(el.getAttribute("id")) : el -> hasClass(el, name));
+                    i = end[0];
+                } else if (c == '[') {
+                    int close = text.indexOf(']', i);
+                    if (close < 0) {
+                        throw new InvalidSelectorException("Invalid css selector " + selector);
+                    }
+                    conditions.add(attribute(text.substring(i + 1, close).trim(), selector));
+                    i = close + 1;
+                } else if (i == start && isIdentifierChar(c)) {
+                    int[] end = new int[1];
+                    tag = identifier(text, i, end, selector).toLowerCase(Locale.ROOT);
+                    i = end[0];
+                } else {
+                    throw new InvalidSelectorException("Stub driver does not support css selector " + selector);
+                }
+            }
+            return i;
+        }
+
+        private static Predicate<Element> attribute(String expression, String selector){
+            int operator = -1;
+            for (int i = 0; i < expression.length(); i++) {
+                if (expression.charAt(i) == '=') {
+                    operator = i;
+                    break;
+                }
+            }
+            if (operator < 0) {
+                String name = expression;
+                return el -> el.hasAttribute(name);
+            }
+            char modifier = operator > 0 ? expression.charAt(operator - 1) : ' ';
+            boolean hasModifier = "*^$~|".indexOf(modifier) >= 0;
+            String name = expression.substring(0, hasModifier ? operator - 1 : operator).trim();
+            String value = unquote(expression.substring(operator + 1).trim());
+            if (name.isEmpty()) {
+                throw new InvalidSelectorException("Invalid css selector " + selector);
+            }
+            return el -> {
+                if (!el.hasAttribute(name)) {
+                    return false;
+                }
+                String actual = el.getAttribute(name);
+                return switch (hasModifier ? modifier : '=') {
+                    case '*' -> actual.contains(value);
+                    case '^' -> actual.startsWith(value);
+                    case '$' -> actual.endsWith(value);
+                    case '~' -> hasClassLike(actual, value);
+                    case '|' -> actual.equals(value) || actual.startsWith(value + "-");
+                    default -> actual.equals(value);
+                };
+            };
+        }
+
+        private static boolean hasClassLike(String list, String value){
+            for (String candidate : list.trim().split("\\s+")) {
+                if (candidate.equals(value)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static String unquote(String value){
+            if (value.length() >= 2 && (value.charAt(0) == '\'' || value.charAt(0) == '"')
+                    && value.charAt(value.length() - 1) == value.charAt(0)) {
+                return value.substring(1, value.length() - 1);
+            }
+            return value;
+        }
+
+        /**
+         * Reads an identifier, resolving css escapes like {@code \31 } or {@code \:}.
+         */
+        private static String identifier(String text, int i, int[] end, String selector){
+            StringBuilder name = new StringBuilder();
+            while (i < text.length()) {
+                char c = text.charAt(i);
+                if (c == '\\' && i + 1 < text.length()) {
+                    int hexEnd = i + 1;
+                    while (hexEnd < text.length() && hexEnd < i + 7 && Character.digit(text.charAt(hexEnd), 16) >= 0) {
+                        hexEnd++;
+                    }
+                    if (hexEnd > i + 1) {
+                        name.appendCodePoint(Integer.parseInt(text.substring(i + 1, hexEnd), 16));
+                        i = hexEnd < text.length() && text.charAt(hexEnd) == ' ' ? hexEnd + 1 : hexEnd;
+                    } else {
+                        name.append(text.charAt(i + 1));
+                        i += 2;
+                    }
+                } else if (isIdentifierChar(c)) {
+                    name.append(c);
+                    i++;
+                } else {
+                    break;
+                }
+            }
+            if (name.isEmpty()) {
+                throw new InvalidSelectorException("Invalid css selector " + selector);
+            }
+            end[0] = i;
+            return name.toString();
+        }
+
+        private static boolean isIdentifierChar(char c){
+            return Character.isLetterOrDigit(c) || c == '-' || c == '_' || c > 127;
+        }
+    }
+}
@@ -0,0 +1,282 @@
+package uiTestFramework.fixtures;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.ScriptTimeoutException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.UnsupportedCommandException;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Emulates the framework's own browser scripts on a {@link StubDriver} page, so the self-tests cover
+ * the paths that only run with JavaScript. A script is recognised by a statement only it contains
+ * and answered with what it returns in a browser; any other script throws, as the stub has no
+ * JavaScript engine. Changing one of these scripts means updating its marker here.
+ * <p>
+ * Arguments are converted first like a remote driver does: a {@code @FindBy} proxy is resolved,
+ * which throws when its element is missing, and an element no longer on the page is stale.
+ */
+final class StubScripts {
+
+    private static final String CLICK = "arguments[0].click();";
+    private static final String SCROLL_INTO_VIEW = "arguments[0].scrollIntoView(true);";
+    private static final String HIGHLIGHT = "arguments[0].style.border='2px solid orange'";
+    private static final String FUSED_ACTION = "return fusedAction(function () {";
+    private static final String SET_VALUES = "return arguments[0].map(function (field) {";
+    private static final String READ_TEXTS = "return matches.map(textOf);";
+    private static final String READ_ATTRIBUTES = "var name = arguments[3];";
+    private static final String READ_ROWS = "locateAll(cellUsing, cellValue, row)";
+    private static final String CAPTURE_STORAGE = "return {local: dump(window.localStorage), session: dump(window.sessionStorage)};";
+    private static final String RESTORE_STORAGE = "window.localStorage.setItem(key, local[key]);";
+    private static final String WAIT = "new MutationObserver(evaluate)";
+
+    private static final Set<String> SETTABLE_INPUT_TYPES = Set.of("text", "password", "email", "search", "tel", "url", "number", "");
+    private static final long WAIT_POLL_MILLIS = 10;
+
+    private final StubDriver driver;
+
+    StubScripts(StubDriver driver){
+        this.driver = driver;
+    }
+
+    Object execute(String script, Object... args){
+        Object[] converted = convert(args);
+        return driver.locked(() -> run(script.trim(), converted));
+    }
+
+    /**
+     * Only the event driven wait is asynchronous. It is emulated by checking its condition every
+     * {@value #WAIT_POLL_MILLIS} ms, the page lock released in between so timed changes apply.
+     */
+    Object executeAsync(String script, Object... args){
+        if (!script.contains(WAIT)) {
+            throw unsupported(script);
+        }
+        Object[] converted = convert(args);
+        Element target = (Element) converted[0];
+        String using = (String) converted[1];
+        String value = (String) converted[2];
+        String condition = (String) converted[3];
+        long now = System.nanoTime();
+        long deadline = now + TimeUnit.MILLISECONDS.toNanos(((Number) converted[4]).longValue());
+        long scriptDeadline = now + driver.locked(driver::scriptTimeout).toNanos();
+        while (true) {
+            Map<String, Object> result = driver.locked(() -> check(target, using, value, condition));
+            if (result != null) {
+                return result;
+            }
+            if (System.nanoTime() >= scriptDeadline) {
+                throw new ScriptTimeoutException("script timeout");
+            }
+            if (System.nanoTime() >= deadline) {
+                return Map.of("timeout", true);
+            }
+            try {
+                Thread.sleep(WAIT_POLL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new WebDriverException("Interrupted while waiting in a script", e);
+            }
+        }
+    }
+
+    private Object run(String script, Object[] args){
+        if (script.equals(CLICK)) {
+            driver.activate(driver.attached((Element) args[0]));
+            return null;
+        }
+        if (script.equals(SCROLL_INTO_VIEW) || script.equals(HIGHLIGHT)) {
+            // No layout, nothing to scroll or paint
+            return null;
+        }
+        if (script.contains(FUSED_ACTION)) {
+            Element element = args[0] != null ? (Element) args[0] : first(driver.document(), (String) args[1], (String) args[2]);
+            return fusedAction(element, (String) args[3], (Boolean) args[4], (String) args[5]);
+        }
+        if (script.contains(SET_VALUES)) {
+            List<String> outcomes = new ArrayList<>();
+            for (Object field : (List<?>) args[0]) {
+                List<?> parts = (List<?>) field;
+                outcomes.add(parts == null ? "UNSUPPORTED"
+                        : fusedAction(first(driver.document(), (String) parts.get(0), (String) parts.get(1)), "setValue", true, (String) parts.get(2)));
+            }
+            return outcomes;
+        }
+        if (script.endsWith(READ_TEXTS)) {
+            List<String> texts = new ArrayList<>();
+            for (Element element : matches(args)) {
+                texts.add(textOf(element));
+            }
+            return texts;
+        }
+        if (script.contains(READ_ATTRIBUTES)) {
+            List<String> values = new ArrayList<>();
+            for (Element element : matches(args)) {
+                values.add(driver.attribute(element, (String) args[3]));
+            }
+            return values;
+        }
+        if (script.contains(READ_ROWS)) {
+            List<List<String>> rows = new ArrayList<>();
+            for (Element row : matches(args)) {
+                List<String> cells = new ArrayList<>();
+                for (Element cell : StubLocators.find(row, new By.Remotable.Parameters((String) args[3], args[4]), el -> false)) {
+                    cells.add(textOf(cell));
+                }
+                rows.add(cells);
+            }
+            return rows;
+        }
+        if (script.contains(CAPTURE_STORAGE)) {
+            Map<String, Object> storage = new LinkedHashMap<>();
+            storage.put("local", new LinkedHashMap<>(driver.storage(true)));
+            storage.put("session", new LinkedHashMap<>(driver.storage(false)));
+            return storage;
+        }
+        if (script.contains(RESTORE_STORAGE)) {
+            driver.storage(true).putAll(strings(args[0]));
+            driver.storage(false).putAll(strings(args[1]));
+            return null;
+        }
+        throw unsupported(script);
+    }
+
+    /**
+     * {@code fusedAction} of ActionEngine: checks the element like the script does and clicks or
+     * sets the value only when that is safe, otherwise returns why not.
+     */
+    private String fusedAction(Element element, String action, boolean hitTest, String text){
+        if (element == null) {
+            return "NOT_FOUND";
+        }
+        if (!driver.isDisplayed(element)) {
+            return "HIDDEN";
+        }
+        if (element.hasAttribute("disabled") || element.getAttribute("aria-disabled").equals("true")) {
+            return "DISABLED";
+        }
+        if (action.equals("setValue")) {
+            String tag = StubDriver.tagName(element);
+            boolean settable = tag.equals("textarea")
+                    || (tag.equals("input") && SETTABLE_INPUT_TYPES.contains(element.getAttribute("type").toLowerCase(Locale.ROOT)));
+            if (!settable) {
+                return "UNSUPPORTED";
+            }
+            if (element.hasAttribute("readonly")) {
+                return "DISABLED";
+            }
+        }
+        if (hitTest && driver.isCovered(element)) {
+            return "INTERCEPTED";
+        }
+        try {
+            if (action.equals("click")) {
+                driver.activate(element);
+            } else {
+                element.setAttribute("value", text);
+            }
+        } catch (WebDriverException e) {
+            return "DISPATCH_FAILED";
+        }
+        return "DONE";
+    }
+
+    private Map<String, Object> check(Element target, String using, String value, String condition){
+        if (target != null && !driver.isAttached(target)) {
+            return condition.equals("invisible") ? Map.of("done", true, "value", true) : Map.of("stale", true);
+        }
+        Element element = target != null ? target : first(driver.document(), using, value);
+        boolean shown = element != null && driver.isDisplayed(element);
+        if (condition.equals("invisible")) {
+            return shown ? null : Map.of("done", true, "value", true);
+        }
+        if (!shown || (condition.equals("clickable") && element.hasAttribute("disabled"))) {
+            return null;
+        }
+        return Map.of("done", true, "value", new StubElement(driver, element));
+    }
+
+    private List<Element> matches(Object[] args){
+        if (args[0] != null) {
+            List<Element> elements = new ArrayList<>();
+            for (Object element : (List<?>) args[0]) {
+                elements.add((Element) element);
+            }
+            return elements;
+        }
+        return StubLocators.find(driver.document(), new By.Remotable.Parameters((String) args[1], args[2]), el -> false);
+    }
+
+    private static Element first(Node root, String using, String value){
+        List<Element> found = StubLocators.find(root, new By.Remotable.Parameters(using, value), el -> false);
+        return found.isEmpty() ? null : found.get(0);
+    }
+
+    /**
+     * {@code innerText}, which for an element that is not rendered is its text content.
+     */
+    private String textOf(Element element){
+        return driver.isDisplayed(element) ? driver.visibleText(element) : element.getTextContent().trim();
+    }
+
+    /**
+     * Script arguments as the browser gets them: elements resolved and checked, collections converted.
+     */
+    private Object[] convert(Object[] args){
+        Object[] converted = new Object[args.length];
+        for (int i = 0; i < args.length; i++) {
+            converted[i] = convert(args[i]);
+        }
+        return converted;
+    }
+
+    private Object convert(Object arg){
+        if (arg instanceof StubElement element) {
+            return driver.locked(() -> driver.attached(element.node()));
+        }
+        if (arg instanceof WrapsElement wrapper) {
+            // A PageFactory proxy looks its element up here, throwing when it is not on the page
+            return convert(wrapper.getWrappedElement());
+        }
+        if (arg instanceof WebElement element) {
+            throw new StaleElementReferenceException("stale element reference: " + element + " is not an element of " + driver);
+        }
+        if (arg instanceof List<?> list) {
+            List<Object> converted = new ArrayList<>();
+            for (Object item : list) {
+                converted.add(convert(item));
+            }
+            return converted;
+        }
+        if (arg instanceof Object[] array) {
+            return convert(Arrays.asList(array));
+        }
+        return arg;
+    }
+
+    private static Map<String, String> strings(Object map){
+        Map<String, String> strings = new LinkedHashMap<>();
+        if (map instanceof Map<?, ?> entries) {
+            entries.forEach((key, value) -> strings.put(String.valueOf(key), String.valueOf(value)));
+        }
+        return strings;
+    }
+
+    private static UnsupportedCommandException unsupported(String script){
+        String start = script.strip();
+        return new UnsupportedCommandException("Stub driver only runs the framework's own scripts, not: "
+                + (start.length() > 80 ? start.substring(0, 80) + "..." : start));
+    }
+}
@@ -0,0 +1,126 @@
+package uiTestFramework.listeners;
+
+import org.apache.logging.log4j.Logger;
+import org.testng.IAlterSuiteListener;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ITestContext;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+import uiTestFramework.DriverManager.BrowserSlots;
+import uiTestFramework.Utilities.LoggerUtil;
+import uiTestFramework.config.Config;
+import uiTestFramework.config.MatrixCell;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Suite level scheduling, registered in {@code testng.xml}:
+ * <ul>
+ *     <li>{@code threadCount=auto} sizes the suite thread count from the cores and the memory
+ *     left for browsers, at {@code browserMemoryMb} per browser. With {@code threadMode=virtual}
+ *     and the {@link TestExecutorFactory} every test gets its own thread and only
+ *     {@link BrowserSlots} limits how many run at once.</li>
+ *     <li>With {@code matrixBrowsers}/{@code matrixEnvironments} every &lt;test&gt; is run once
+ *     per browser and environment combination, all cells at the same time.</li>
+ *     <li>Test methods are ordered tests that failed last time first, then longest first by
+ *     their {@link TestHistory}. Threads pick the next method as they free up, so long tests
+ *     start early instead of ending the run as stragglers.</li>
+ * </ul>
+ */
+public class SuiteScheduler implements IAlterSuiteListener, IMethodInterceptor {
+
+    private static final Logger log = LoggerUtil.getLogger(SuiteScheduler.class);
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        Config config = Config.getConfigInstance();
+        String threadCount = config.getThreadCount();
+        int threads = threadCount.equalsIgnoreCase("auto") ? autoThreadCount(config.getBrowserMemoryMb()) : Integer.parseInt(threadCount);
+        for (XmlSuite suite : suites) {
+            if (suite.getParallel().isParallel()) {
+                suite.setThreadCount(threads);
+                suite.setDataProviderThreadCount(threads);
+                log.info("Running suite '{}' with {} thread(s), parallel={}, {} browser slot(s)", suite.getName(), threads,
+                        suite.getParallel(), BrowserSlots.capacity());
+            }
+            List<MatrixCell> matrix = config.getMatrix();
+            if (!matrix.isEmpty()) {
+                expandMatrix(suite, matrix, threads);
+            }
+        }
+    }
+
+    /**
+     * Replaces every &lt;test&gt; by a copy per matrix cell, tagged with the cell in its name and
+     * parameters. The copies run side by side, each parallel the way the suite was with its share
+     * of the threads.
+     */
+    private static void expandMatrix(XmlSuite suite, List<MatrixCell> matrix, int threads) {
+        XmlSuite.ParallelMode parallel = suite.getParallel();
+        boolean parallelTests = parallel == XmlSuite.ParallelMode.TESTS;
+        List<XmlTest> originals = new ArrayList<>(suite.getTests());
+        suite.getTests().clear();
+        for (XmlTest original : originals) {
+            for (MatrixCell cell : matrix) {
+                XmlTest copy = (XmlTest) original.clone(); // adds itself to the suite
+                copy.setName(original.getName() + " [" + cell.label() + "]");
+                List<XmlClass> classes = new ArrayList<>();
+                for (XmlClass xmlClass : original.getXmlClasses()) {
+                    classes.add((XmlClass) xmlClass.clone());
+                }
+                copy.setXmlClasses(classes);
+                copy.addParameter(MatrixCell.BROWSER_PARAMETER, cell.browser().name());
+                copy.addParameter(MatrixCell.ENVIRONMENT_PARAMETER, cell.environment().name());
+                if (parallel.isParallel() && !parallelTests) {
+                    copy.setParallel(parallel);
+                    copy.setThreadCount(Math.max(1, threads / matrix.size()));
+                } else {
+                    copy.setParallel(XmlSuite.ParallelMode.NONE);
+                }
+            }
+        }
+        suite.setParallel(XmlSuite.ParallelMode.TESTS);
+        suite.setThreadCount(parallelTests ? Math.max(threads, matrix.size()) : matrix.size());
+        log.info("Running suite '{}' as a matrix of {} cell(s): {}", suite.getName(), matrix.size(),
+                matrix.stream().map(MatrixCell::label).toList());
+    }
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        if (!Config.getConfigInstance().isHistorySchedulingEnabled()) {
+            return methods;
+        }
+
+        // Tests without history are assumed to take as long as the average known test
+        long known = 0;
+        long total = 0;
+        for (IMethodInstance method : methods) {
+            long millis = TestHistory.durationOf(method.getMethod());
+            if (millis >= 0) {
+                known++;
+                total += millis;
+            }
+        }
+        long unknown = known == 0 ? 0 : total / known;
+
+        List<IMethodInstance> ordered = new ArrayList<>(methods);
+        ordered.sort(Comparator
+                .comparing((IMethodInstance method) -> !TestHistory.failedLastTime(method.getMethod()))
+                .thenComparing(method -> {
+                    long millis = TestHistory.durationOf(method.getMethod());
+                    return millis >= 0 ? millis : unknown;
+                }, Comparator.reverseOrder()));
+        return ordered;
+    }
+
+    /**
+     * One thread per core, but no more browsers than the memory outside the JVM heap can hold.
+     */
+    public static int autoThreadCount(long browserMemoryMb) {
+        return BrowserSlots.capacityFor(browserMemoryMb);
+    }
+}
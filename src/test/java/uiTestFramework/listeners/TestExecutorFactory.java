@@ -0,0 +1,37 @@
+package uiTestFramework.listeners;
+
+import org.apache.logging.log4j.Logger;
+import org.testng.IExecutorServiceFactory;
+import uiTestFramework.Utilities.LoggerUtil;
+import uiTestFramework.Utilities.VirtualThreads;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs parallel test methods on one virtual thread each with {@code threadMode=virtual}, ignoring
+ * the thread count, so concurrency is bounded by the browser slots instead. Otherwise it builds the
+ * same pool TestNG would.
+ * <p>
+ * TestNG only takes the factory from its command line, which the shard workers pass:
+ * {@code org.testng.TestNG -threadpoolfactoryclass uiTestFramework.listeners.TestExecutorFactory testng.xml}.
+ * Surefire has no setting for it and keeps TestNG's platform pool.
+ */
+public class TestExecutorFactory implements IExecutorServiceFactory {
+
+    private static final Logger log = LoggerUtil.getLogger(TestExecutorFactory.class);
+
+    @Override
+    public ExecutorService create(int corePoolSize, int maximumPoolSize, long keepAliveTime, TimeUnit unit,
+                                  BlockingQueue<Runnable> workQueue, ThreadFactory threadFactory) {
+        ExecutorService executor = VirtualThreads.newThreadPerTaskExecutor("test-worker");
+        if (executor != null) {
+            log.info("Running test methods on virtual threads instead of {} platform thread(s)", maximumPoolSize);
+            return executor;
+        }
+        return new ThreadPoolExecutor(corePoolSize, maximumPoolSize, keepAliveTime, unit, workQueue, threadFactory);
+    }
+}
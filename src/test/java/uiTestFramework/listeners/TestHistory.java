@@ -0,0 +1,162 @@
+package uiTestFramework.listeners;
+
+import org.apache.logging.log4j.Logger;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+import uiTestFramework.Utilities.LoggerUtil;
+import uiTestFramework.config.Config;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Duration and last result of every test method over previous runs, persisted to
+ * {@code test-history.properties} in the framework cache dir. Durations are a moving average
+ * that weighs the latest run at {@link #WEIGHT}, so one slow run does not reorder the suite.
+ */
+public final class TestHistory {
+
+    private static final Logger log = LoggerUtil.getLogger(TestHistory.class);
+
+    private static final String HISTORY_FILE_NAME = "test-history.properties";
+    private static final double WEIGHT = 0.3;
+
+    private static final Map<String, Entry> history = new ConcurrentHashMap<>();
+    /** Tests that ran in this JVM, the only entries it writes back. */
+    private static final Set<String> recorded = ConcurrentHashMap.newKeySet();
+    private static volatile boolean loaded = false;
+
+    private TestHistory(){
+        //prevent instantiation
+    }
+
+    /**
+     * Average duration in ms, -1 when the test never ran.
+     */
+    static long durationOf(ITestNGMethod method){
+        Entry entry = history().get(key(method));
+        return entry == null ? -1 : entry.millis;
+    }
+
+    /**
+     * Summed average duration in ms of the test methods of a class, -1 when none of them ran before.
+     */
+    public static long classDuration(String className){
+        String prefix = className + ".";
+        long total = -1;
+        for (Map.Entry<String, Entry> entry : history().entrySet()) {
+            if (entry.getKey().startsWith(prefix) && entry.getKey().indexOf('.', prefix.length()) < 0) {
+                total = Math.max(total, 0) + entry.getValue().millis;
+            }
+        }
+        return total;
+    }
+
+    static boolean failedLastTime(ITestNGMethod method){
+        Entry entry = history().get(key(method));
+        return entry != null && entry.failed;
+    }
+
+    static void record(ITestResult result){
+        long millis = Math.max(0, result.getEndMillis() - result.getStartMillis());
+        boolean failed = result.getStatus() != ITestResult.SUCCESS;
+        recorded.add(key(result.getMethod()));
+        history().compute(key(result.getMethod()), (key, previous) -> previous == null
+                ? new Entry(millis, failed)
+                : new Entry(Math.round(WEIGHT * millis + (1 - WEIGHT) * previous.millis), failed));
+    }
+
+    /**
+     * Writes the tests recorded in this JVM to disk, to be called once at the end of the suite.
+     * The file is re-read under a lock first, so parallel shards do not drop each other's results.
+     */
+    public static void save(){
+        if (recorded.isEmpty()) {
+            return;
+        }
+        Path file = historyFile();
+        try {
+            Files.createDirectories(file.getParent());
+            try (FileChannel lock = FileChannel.open(file.resolveSibling(HISTORY_FILE_NAME + ".lock"),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                 FileLock ignored = lock.lock()) {
+                Properties properties = read(file);
+                for (String key : recorded) {
+                    Entry entry = history.get(key);
+                    properties.setProperty(key, entry.millis + "," + (entry.failed ? "failed" : "passed"));
+                }
+
+                Path temp = Files.createTempFile(file.getParent(), HISTORY_FILE_NAME, ".tmp");
+                try (OutputStream out = Files.newOutputStream(temp)) {
+                    properties.store(out, "Average test duration in ms and last result");
+                }
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+            log.info("Saved history of {} test(s) to {}", recorded.size(), file);
+        } catch (IOException e) {
+            System.err.println("Warn: Could not save test history " + file + ": " + e.getMessage());
+        }
+    }
+
+    private static Map<String, Entry> history(){
+        if (!loaded) {
+            synchronized (TestHistory.class) {
+                if (!loaded) {
+                    load();
+                    loaded = true;
+                }
+            }
+        }
+        return history;
+    }
+
+    private static void load(){
+        Properties properties;
+        try {
+            properties = read(historyFile());
+        } catch (IOException e) {
+            System.err.println("Warn: Could not read test history " + historyFile() + ": " + e.getMessage());
+            return;
+        }
+        for (String key : properties.stringPropertyNames()) {
+            String[] values = properties.getProperty(key).split(",");
+            try {
+                history.put(key, new Entry(Long.parseLong(values[0].trim()), values.length > 1 && values[1].trim().equals("failed")));
+            } catch (NumberFormatException e) {
+                System.err.println("Warn: Ignoring test history entry " + key + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private static Properties read(Path file) throws IOException {
+        Properties properties = new Properties();
+        if (Files.exists(file)) {
+            try (InputStream in = Files.newInputStream(file)) {
+                properties.load(in);
+            }
+        }
+        return properties;
+    }
+
+    private static Path historyFile(){
+        return Path.of(Config.getConfigInstance().getCacheDir(), HISTORY_FILE_NAME);
+    }
+
+    private static String key(ITestNGMethod method){
+        return method.getQualifiedName();
+    }
+
+    private record Entry(long millis, boolean failed) {
+    }
+}
@@ -1,16 +1,23 @@
 package uiTestFramework.listeners;
 
-import com.aventstack.extentreports.MediaEntityBuilder;
 import com.aventstack.extentreports.Status;
+import org.apache.logging.log4j.Logger;
 import org.testng.ITestContext;
 import org.testng.ITestListener;
 import org.testng.ITestResult;
+import uiTestFramework.Utilities.ActionTrace;
+import uiTestFramework.Utilities.LoggerUtil;
 import uiTestFramework.Utilities.ScreenshotUtil;
+import uiTestFramework.config.MatrixCell;
 
 import uiTestFramework.extentReportManagers.ExtentTestManager;
 
+import java.util.concurrent.CompletableFuture;
+
 public class TestListener implements ITestListener{
 
+    private static final Logger log = LoggerUtil.getLogger(TestListener.class);
+
     @Override
     public void onStart(ITestContext context) {
         System.out.println("Test Execution started for suite : " + context.getName());
@@ -19,38 +26,65 @@ public class TestListener implements ITestListener{
 
     @Override
     public void onTestStart(ITestResult result) {
-        ExtentTestManager.startTest(result.getMethod().getMethodName());
+        MatrixCell cell = MatrixCell.of(result.getTestContext().getCurrentXmlTest());
+        String testName = result.getMethod().getMethodName();
+        ExtentTestManager.startTest(cell == null ? testName : testName + " [" + cell.label() + "]");
+        ActionTrace.clear();
     }
 
     @Override
     public void onTestSuccess(ITestResult result) {
-        ExtentTestManager.getTest().log(Status.PASS,"✔ Test Passed");
+        TestHistory.record(result);
+        ExtentTestManager.log(Status.PASS,"✔ Test Passed");
     }
 
     @Override
     public void onTestFailure(ITestResult result) {
+        TestHistory.record(result);
 
-        String testName = result.getMethod().getMethodName();
+        String testName = screenshotName(result);
 
-        ScreenshotUtil.ScreenshotData screenshotData = ScreenshotUtil.takeScreenShot(testName);
-
-        ExtentTestManager.getTest().log(Status.FAIL,"❌ Test Failed: "+ result.getThrowable());
-
-        if (screenshotData.getBase64() != null && !screenshotData.getBase64().isEmpty()){
-            ExtentTestManager.getTest().fail("Err: Test Failed at - ",MediaEntityBuilder.createScreenCaptureFromBase64String(screenshotData.getBase64()).build());
-        }
+        CompletableFuture<ScreenshotUtil.ScreenshotData> screenshot = ScreenshotUtil.takeScreenShotAsync(testName);
 
+        ExtentTestManager.log(Status.FAIL,"❌ Test Failed: "+ result.getThrowable());
+        dumpActionTrace(testName, Status.FAIL);
 
+        // Attached once the screenshot is written, the test thread moves on to teardown meanwhile
+        ExtentTestManager.attachScreenshot(Status.FAIL,"Err: Test Failed at - ",screenshot);
     }
 
     @Override
     public void onTestSkipped(ITestResult result) {
-        String testName = result.getMethod().getMethodName();
+        TestHistory.record(result);
+        String testName = screenshotName(result);
+
+        CompletableFuture<ScreenshotUtil.ScreenshotData> screenshot = ScreenshotUtil.takeScreenShotAsync(testName);
 
-        ScreenshotUtil.ScreenshotData screenshotData = ScreenshotUtil.takeScreenShot(testName);
+        ExtentTestManager.log(Status.SKIP,"⚠ Test Skipped: " + result.getThrowable());
+        dumpActionTrace(testName, Status.SKIP);
+        ExtentTestManager.attachScreenshot(Status.SKIP,"Warn: Test Skipped at - ",screenshot);
+    }
 
-        ExtentTestManager.getTest().log(Status.SKIP,"⚠ Test Skipped: " + result.getThrowable());
-        ExtentTestManager.getTest().skip("Warn: Test Skipped at - ",MediaEntityBuilder.createScreenCaptureFromBase64String(screenshotData.getBase64()).build());
+    /**
+     * Method name, suffixed with the matrix cell so parallel cells do not write the same file.
+     */
+    private String screenshotName(ITestResult result) {
+        MatrixCell cell = MatrixCell.of(result.getTestContext().getCurrentXmlTest());
+        String testName = result.getMethod().getMethodName();
+        return cell == null ? testName : testName + "_" + cell.id();
+    }
+
+    /**
+     * Writes the actions leading up to a failure or skip to the log and the report.
+     */
+    private void dumpActionTrace(String testName, Status status) {
+        String[][] trace = ActionTrace.drain();
+        if (trace.length == 0) {
+            return;
+        }
+        log.warn("Last {} action(s) of {}:{}", trace.length - 1, testName, ActionTrace.format(trace));
+        ExtentTestManager.log(status, "Last " + (trace.length - 1) + " action(s) before the test ended");
+        ExtentTestManager.logTable(Status.INFO, trace);
     }
 
     @Override
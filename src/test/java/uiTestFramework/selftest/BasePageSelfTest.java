@@ -0,0 +1,124 @@
+package uiTestFramework.selftest;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.ElementClickInterceptedException;
+import org.openqa.selenium.TimeoutException;
+import org.testng.annotations.Test;
+import uiTestFramework.DriverManager.DriverManager;
+import uiTestFramework.Utilities.ActionMetrics;
+import uiTestFramework.Utilities.FrameworkException;
+
+import java.util.Arrays;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.expectThrows;
+
+public class BasePageSelfTest extends FixtureTest {
+
+    private static final By MESSAGE = By.id("message");
+
+    private FixturePage page(){
+        return new FixturePage(DriverManager.getDriver());
+    }
+
+    @Test
+    void waitsForDelayedElement(){
+        FixturePage page = page();
+        long start = System.nanoTime();
+        page.open(server.url("/delayed?ms=200"));
+
+        assertEquals(page.text(MESSAGE, "Message"), "Loaded");
+        assertTrue(millisSince(start) >= 200, "Text was read before the element was shown");
+    }
+
+    @Test
+    void waitsForSpinnerToDisappear(){
+        FixturePage page = page();
+        long start = System.nanoTime();
+        page.open(server.url("/delayed?ms=200"));
+
+        assertTrue(page.waitForInvisibility(By.id("spinner"), "Spinner"));
+        assertTrue(millisSince(start) >= 200, "Spinner was reported gone while still there");
+    }
+
+    @Test
+    void waitsForButtonToBeEnabled(){
+        FixturePage page = page().open(server.url("/delayed?ms=200"));
+
+        page.click(By.id("submit"), "Submit button");
+        assertEquals(page.text(By.id("result"), "Result"), "Submitted");
+    }
+
+    @Test
+    void resolvesCachedElementAgainAfterStaleSwap() throws InterruptedException {
+        FixturePage page = page().open(server.url("/stale?ms=100"));
+        page.waitForVisibility(MESSAGE, "Message");
+        Thread.sleep(150);
+
+        assertEquals(page.text(MESSAGE, "Message"), "Swapped");
+    }
+
+    @Test
+    void reportsInterceptedClick(){
+        FixturePage page = page().open(server.url("/intercepted?ms=10000"));
+
+        FrameworkException e = expectThrows(FrameworkException.class, () -> page.click(By.id("button"), "Button"));
+        assertTrue(e.getCause() instanceof ElementClickInterceptedException, "Unexpected cause " + e.getCause());
+    }
+
+    @Test
+    void recordsDurationAndOutcomeOfWaitsAndActions(){
+        FixturePage page = page().open(server.url("/intercepted?ms=10000"));
+
+        expectThrows(FrameworkException.class, () -> page.click(By.id("button"), "Measured button"));
+        assertEquals(failures("Measured button", "Wait for clickable"), "0");
+        assertEquals(failures("Measured button", "Click"), "1");
+    }
+
+    @Test
+    void timesOutOnMissingElement(){
+        FixturePage page = page().open(server.url("/delayed?ms=200"));
+
+        FrameworkException e = expectThrows(FrameworkException.class, () -> page.waitForVisibility(By.id("missing"), "Missing"));
+        assertTrue(e.getCause() instanceof TimeoutException, "Unexpected cause " + e.getCause());
+    }
+
+    @Test
+    void failsAtLearnedDeadline(){
+        FixturePage page = page();
+        // learnedTimeoutMinSamples quick appearances, the deadline drops to learnedTimeoutMinMillis
+        for (int i = 0; i < 5; i++) {
+            page.open(server.url("/delayed?ms=0")).waitForVisibility(MESSAGE, "Learned message");
+        }
+        page.open(server.url("/delayed?ms=900"));
+        long start = System.nanoTime();
+
+        FrameworkException e = expectThrows(FrameworkException.class, () -> page.waitForVisibility(MESSAGE, "Learned message"));
+        assertTrue(e.getCause() instanceof TimeoutException, "Unexpected cause " + e.getCause());
+        assertTrue(millisSince(start) < 800, "Waited for the configured timeout instead of the learned deadline");
+    }
+
+    @Test
+    void submitsFormAfterSlowLoad(){
+        FixturePage page = page();
+        long start = System.nanoTime();
+        page.open(server.url("/form?delay=300"));
+        assertTrue(millisSince(start) >= 300, "Slow page loaded too early");
+
+        page.type(By.id("username"), "Username", "admin");
+        page.type(By.id("password"), "Password", "admin123");
+        page.click(By.id("login"), "Login button");
+        assertEquals(page.text(By.id("greeting"), "Greeting"), "Welcome admin");
+    }
+
+    /**
+     * Failures column of the metrics row of this page, null when nothing was recorded.
+     */
+    private static String failures(String elementName, String action){
+        return Arrays.stream(ActionMetrics.summaryTable(Integer.MAX_VALUE))
+                .filter(row -> row[0].equals(FixturePage.class.getSimpleName()) && row[1].equals(elementName) && row[2].equals(action))
+                .map(row -> row[8])
+                .findFirst().orElse(null);
+    }
+}
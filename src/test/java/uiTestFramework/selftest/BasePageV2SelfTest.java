@@ -0,0 +1,86 @@
+package uiTestFramework.selftest;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebElement;
+import org.testng.annotations.Test;
+import uiTestFramework.DriverManager.DriverManager;
+import uiTestFramework.Utilities.FrameworkException;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.expectThrows;
+
+public class BasePageV2SelfTest extends FixtureTest {
+
+    private FixturePageV2 page(){
+        return new FixturePageV2(DriverManager.getDriver());
+    }
+
+    @Test
+    void fillsFormAndClicksThroughFusedScripts(){
+        FixturePageV2 page = page().open(server.url("/form"));
+
+        Map<By, String> fields = new LinkedHashMap<>();
+        fields.put(By.id("username"), "admin");
+        fields.put(By.id("password"), "admin123");
+        page.fill(fields, "Login form");
+        page.click(By.cssSelector("#login-form button[type='submit']"), "Login button");
+
+        assertEquals(page.text(By.id("greeting"), "Greeting"), "Welcome admin");
+    }
+
+    @Test
+    void waitsForFindByElementMissingWhenTheFusedScriptIsCalled(){
+        FixturePageV2 page = page().open(server.url("/form"));
+
+        // Resolving the proxy for the script fails before it runs, the native wait takes over
+        FrameworkException e = expectThrows(FrameworkException.class, page::clickNotRenderedButton);
+        assertTrue(e.getCause() instanceof TimeoutException, "Unexpected cause " + e.getCause());
+    }
+
+    @Test
+    void readsTableRows(){
+        FixturePageV2 page = page().open(server.url("/table?rows=5"));
+
+        List<List<String>> rows = page.rows(By.cssSelector("#records tr.row"), By.tagName("td"), "Records");
+        assertEquals(rows.size(), 5);
+        assertEquals(rows.get(1), List.of("2", "Name 2", "Enabled"));
+    }
+
+    @Test
+    void readsTextsOfAllMatches(){
+        FixturePageV2 page = page().open(server.url("/table?rows=3"));
+
+        assertEquals(page.texts(By.xpath("//tr/td[1]"), "First cells"), List.of("1", "2", "3"));
+    }
+
+    @Test
+    void readsAttributesLikeGetAttribute(){
+        FixturePageV2 page = page().open(server.url("/form"));
+        By fields = By.cssSelector("#login-form input");
+
+        assertEquals(page.attributes(fields, "Fields", "type"), List.of("text", "password"));
+        // Boolean attributes that are off read as null, not "false"
+        assertEquals(page.attributes(fields, "Fields", "disabled"), Arrays.asList(null, null));
+
+        page.open(server.url("/delayed?ms=10000"));
+        assertEquals(page.attributes(By.id("submit"), "Submit button", "disabled"), List.of("true"));
+    }
+
+    @Test
+    void reportsStaleElement() throws InterruptedException {
+        FixturePageV2 page = page().open(server.url("/stale?ms=100"));
+        WebElement message = page.waitForVisibility(By.id("message"), "Message");
+        Thread.sleep(150);
+
+        FrameworkException e = expectThrows(FrameworkException.class, () -> page.text(message, "Message"));
+        assertTrue(e.getCause() instanceof StaleElementReferenceException, "Unexpected cause " + e.getCause());
+    }
+}
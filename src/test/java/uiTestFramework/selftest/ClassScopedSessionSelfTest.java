@@ -0,0 +1,48 @@
+package uiTestFramework.selftest;
+
+import org.openqa.selenium.WebDriver;
+import org.testng.annotations.Test;
+import uiTestFramework.DriverManager.BrowserSlots;
+import uiTestFramework.DriverManager.DriverManager;
+import uiTestFramework.TestClasses.BrowserSession;
+import uiTestFramework.config.SessionScope;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * More class scoped test classes than {@code browserSlots} (2 in the {@code selftest} profile). Every
+ * class opens its browser before any class runs its second test, so the parked sessions of the
+ * first classes hold every slot while the last one still needs a browser.
+ */
+@BrowserSession(SessionScope.CLASS)
+public abstract class ClassScopedSessionSelfTest extends FixtureTest {
+
+    private static final String FIRST = "classScopedFirst";
+
+    @Test(groups = FIRST, timeOut = 20_000)
+    void opensClassBrowser(){
+        assertTrue(BrowserSlots.capacity() < 3, "Needs fewer browser slots than class scoped classes");
+        open();
+    }
+
+    @Test(dependsOnGroups = FIRST, timeOut = 20_000)
+    void reusesOrReopensClassBrowser(){
+        open();
+    }
+
+    private void open(){
+        WebDriver driver = DriverManager.getDriver();
+        driver.get(server.url("/delayed?ms=0"));
+        assertEquals(driver.getCurrentUrl(), server.url("/delayed?ms=0"));
+    }
+
+    public static class First extends ClassScopedSessionSelfTest {
+    }
+
+    public static class Second extends ClassScopedSessionSelfTest {
+    }
+
+    public static class Third extends ClassScopedSessionSelfTest {
+    }
+}
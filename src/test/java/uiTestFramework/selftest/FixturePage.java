@@ -0,0 +1,42 @@
+package uiTestFramework.selftest;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import uiTestFramework.PageObjects.BasePage;
+import uiTestFramework.Utilities.LoggerUtil;
+
+/**
+ * Any {@link uiTestFramework.fixtures.FixtureServer} page, driven through {@link BasePage}.
+ */
+public class FixturePage extends BasePage {
+
+    public FixturePage(WebDriver driver){
+        super(driver, LoggerUtil.getLogger(FixturePage.class));
+    }
+
+    public FixturePage open(String url){
+        navigateTo(url);
+        return this;
+    }
+
+    public WebElement waitForVisibility(By locator, String elementName){
+        return waitForVisibilityOfElement(locator, elementName);
+    }
+
+    public boolean waitForInvisibility(By locator, String elementName){
+        return waitForInvisibilityOfElement(locator, elementName);
+    }
+
+    public void click(By locator, String elementName){
+        clickOnElement(locator, elementName);
+    }
+
+    public String text(By locator, String elementName){
+        return getText(locator, elementName);
+    }
+
+    public void type(By locator, String elementName, String text){
+        enterText(locator, elementName, text);
+    }
+}
@@ -0,0 +1,72 @@
+package uiTestFramework.selftest;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.FindBy;
+import org.openqa.selenium.support.PageFactory;
+import uiTestFramework.PageObjects.BasePageV2;
+import uiTestFramework.Utilities.LoggerUtil;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Any {@link uiTestFramework.fixtures.FixtureServer} page, driven through {@link BasePageV2}.
+ */
+public class FixturePageV2 extends BasePageV2 {
+
+    // On no fixture page, like a form that has not rendered yet
+    @FindBy(id = "not-rendered")
+    private WebElement notRenderedButton;
+
+    public FixturePageV2(WebDriver driver){
+        super(driver, LoggerUtil.getLogger(FixturePageV2.class));
+        PageFactory.initElements(driver, this);
+    }
+
+    public FixturePageV2 open(String url){
+        driver.get(url);
+        return this;
+    }
+
+    public WebElement waitForVisibility(By locator, String elementName){
+        return waitForVisibilityOfElement(locator, elementName);
+    }
+
+    public void click(By locator, String elementName){
+        clickOnElement(locator, elementName);
+    }
+
+    public String text(By locator, String elementName){
+        return getText(locator, elementName);
+    }
+
+    public String text(WebElement element, String elementName){
+        return getText(element, elementName);
+    }
+
+    public void clickNotRenderedButton(){
+        clickOnElement(notRenderedButton, "Not rendered button");
+    }
+
+    public void type(By locator, String elementName, String text){
+        enterText(locator, elementName, text);
+    }
+
+    public List<String> texts(By locator, String elementName){
+        return getTexts(locator, elementName);
+    }
+
+    public List<String> attributes(By locator, String elementName, String attribute){
+        return getAttributes(locator, elementName, attribute);
+    }
+
+    public List<List<String>> rows(By rowLocator, By cellLocator, String tableName){
+        return getTableRows(rowLocator, cellLocator, tableName);
+    }
+
+    public void fill(Map<By, String> fieldValues, String formName){
+        fillFields(fieldValues, formName);
+    }
+}
@@ -0,0 +1,31 @@
+package uiTestFramework.selftest;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import uiTestFramework.TestClasses.BaseTest;
+import uiTestFramework.fixtures.FixtureServer;
+
+/**
+ * Base of the framework self-tests: a {@link FixtureServer} per test class, browsers as configured,
+ * normally {@code browser=stub} through the {@code selftest} Maven profile.
+ */
+public abstract class FixtureTest extends BaseTest {
+
+    protected FixtureServer server;
+
+    @BeforeClass(alwaysRun = true)
+    public void startFixtureServer(){
+        server = FixtureServer.start();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopFixtureServer(){
+        if (server != null) {
+            server.close();
+        }
+    }
+
+    protected static long millisSince(long startNanos){
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+}
@@ -0,0 +1,67 @@
+package uiTestFramework.selftest;
+
+import com.aventstack.extentreports.Status;
+import org.testng.annotations.Test;
+import uiTestFramework.DriverManager.DriverManager;
+import uiTestFramework.Utilities.ScreenshotUtil;
+import uiTestFramework.extentReportManagers.BufferedExtentTest;
+import uiTestFramework.extentReportManagers.ExtentTestManager;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+public class ReportingSelfTest extends FixtureTest {
+
+    @Test
+    void savesScreenshotOfCurrentBrowser(){
+        DriverManager.getDriver().get(server.url("/welcome?username=screenshot-" + System.nanoTime()));
+
+        ScreenshotUtil.ScreenshotData screenshot = ScreenshotUtil.takeScreenShot("savesScreenshotOfCurrentBrowser");
+        assertNotNull(screenshot.getPath());
+        assertTrue(Files.exists(Path.of(screenshot.getPath())), "No file at " + screenshot.getPath());
+    }
+
+    @Test
+    void storesIdenticalFrameOnce(){
+        DriverManager.getDriver().get(server.url("/welcome?username=dedup-" + System.nanoTime()));
+
+        ScreenshotUtil.ScreenshotData first = ScreenshotUtil.takeScreenShot("storesIdenticalFrameOnce");
+        ScreenshotUtil.ScreenshotData second = ScreenshotUtil.takeScreenShot("storesIdenticalFrameOnce");
+        assertEquals(second.getPath(), first.getPath());
+        assertNull(second.getBase64());
+    }
+
+    @Test
+    void keepsDifferentFramesOfOneTestWithinOneSecondApart(){
+        DriverManager.getDriver().get(server.url("/welcome?username=first-" + System.nanoTime()));
+        ScreenshotUtil.ScreenshotData first = ScreenshotUtil.takeScreenShot("keepsDifferentFramesApart");
+        DriverManager.getDriver().get(server.url("/welcome?username=second-" + System.nanoTime()));
+        ScreenshotUtil.ScreenshotData second = ScreenshotUtil.takeScreenShot("keepsDifferentFramesApart");
+
+        assertNotNull(first.getPath());
+        assertNotNull(second.getPath());
+        assertNotEquals(second.getPath(), first.getPath());
+        assertTrue(Files.exists(Path.of(second.getPath())), "No file at " + second.getPath());
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    void logsThroughDeprecatedGetTestIntoTheBufferedRecord(){
+        ExtentTestManager.startTest("logsThroughDeprecatedGetTest");
+        try {
+            BufferedExtentTest test = ExtentTestManager.getTest();
+            assertNotNull(test);
+            test.info("Logged the old way").warning(new IllegalStateException("Logged as a warning"));
+            assertEquals(test.getStatus(), Status.WARNING);
+        } finally {
+            ExtentTestManager.endTest();
+        }
+        assertNull(ExtentTestManager.getTest());
+    }
+}
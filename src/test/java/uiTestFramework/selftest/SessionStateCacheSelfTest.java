@@ -0,0 +1,40 @@
+package uiTestFramework.selftest;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.testng.annotations.Test;
+import uiTestFramework.PageObjects.SessionStateCache;
+import uiTestFramework.fixtures.StubDriver;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.Assert.assertEquals;
+
+public class SessionStateCacheSelfTest extends FixtureTest {
+
+    @Test
+    void restoresCapturedSessionInsteadOfLoggingInAgain(){
+        AtomicInteger logins = new AtomicInteger();
+        SessionStateCache.LoginFlow flow = (driver, username, password) -> {
+            logins.incrementAndGet();
+            FixturePage page = new FixturePage(driver);
+            page.type(By.id("username"), "Username", username);
+            page.type(By.id("password"), "Password", password);
+            page.click(By.id("login"), "Login button");
+            page.waitForVisibility(By.id("greeting"), "Greeting");
+        };
+
+        WebDriver first = new StubDriver();
+        WebDriver second = new StubDriver();
+        try {
+            SessionStateCache.login(first, server.url("/form"), "cached-user", "secret", flow);
+            SessionStateCache.login(second, server.url("/form"), "cached-user", "secret", flow);
+
+            assertEquals(logins.get(), 1, "Second browser logged in through the UI again");
+            assertEquals(second.getCurrentUrl(), first.getCurrentUrl());
+        } finally {
+            first.quit();
+            second.quit();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package uiTestFramework.sharding;
+
+import uiTestFramework.listeners.TestExecutorFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Runs every shard in its own JVM on this machine, with the classpath of the coordinator. Output
+ * of a worker goes to {@code output.log} in its working directory.
+ */
+public class LocalProcessLauncher implements ShardLauncher {
+
+    @Override
+    public CompletableFuture<Integer> launch(Shard shard) {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        shard.systemProperties().forEach((key, value) -> command.add("-D" + key + "=" + value));
+        command.add("-cp");
+        command.add(classpath());
+        command.add("org.testng.TestNG");
+        command.add("-threadpoolfactoryclass");
+        command.add(TestExecutorFactory.class.getName());
+        command.add("-d");
+        command.add(shard.workDir().resolve("test-output").toString());
+        command.add(shard.suiteFile().toString());
+
+        ProcessBuilder builder = new ProcessBuilder(command)
+                .directory(shard.workDir().toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(shard.workDir().resolve("output.log").toFile());
+        try {
+            return builder.start().onExit().thenApply(Process::exitValue);
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * The test classpath, also when the coordinator runs inside Maven through exec:java, where
+     * {@code java.class.path} only holds Maven's own launcher.
+     */
+    private static String classpath() {
+        if (LocalProcessLauncher.class.getClassLoader() instanceof URLClassLoader loader) {
+            List<String> entries = new ArrayList<>();
+            for (URL url : loader.getURLs()) {
+                try {
+                    entries.add(Path.of(url.toURI()).toString());
+                } catch (URISyntaxException | IllegalArgumentException e) {
+                    System.err.println("Warn: Skipping classpath entry " + url + ": " + e.getMessage());
+                }
+            }
+            return String.join(File.pathSeparator, entries);
+        }
+        return System.getProperty("java.class.path");
+    }
+}
@@ -0,0 +1,16 @@
+package uiTestFramework.sharding;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One slice of the suite: its own TestNG suite file, working directory and system properties.
+ *
+ * @param suiteFile        suite file with only this shard's classes
+ * @param workDir          directory the worker runs in, its reports/, screenshots/ and logs/ end up there
+ * @param systemProperties {@code -D} properties for the worker JVM
+ */
+public record Shard(int index, List<String> classes, long expectedMillis, Path suiteFile, Path workDir,
+                    Map<String, String> systemProperties) {
+}
@@ -0,0 +1,255 @@
+package uiTestFramework.sharding;
+
+import org.apache.logging.log4j.Logger;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlPackage;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+import org.testng.xml.internal.Parser;
+import uiTestFramework.DriverManager.BrowserSlots;
+import uiTestFramework.Utilities.LoggerUtil;
+import uiTestFramework.config.Config;
+import uiTestFramework.extentReportManagers.ReportMerger;
+import uiTestFramework.listeners.SuiteScheduler;
+import uiTestFramework.listeners.TestHistory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+/**
+ * Splits a TestNG suite into shards by test class and runs every shard in its own worker JVM,
+ * then merges the shard reports into one and exits with the combined TestNG exit code.
+ * <p>
+ * Classes are spread longest first onto the least loaded shard, using the durations in
+ * {@link TestHistory}. Workers stream their report ({@code reportMode=stream}), share the cache
+ * dir and get the coordinator's {@code -Denv} and {@code -Dbrowser}, plus any {@code -Dkey=value}
+ * argument.
+ * <p>
+ * Run with: {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=uiTestFramework.sharding.ShardCoordinator -Dexec.args="testng.xml 4 -DrunHeadless=true"}
+ */
+public class ShardCoordinator {
+
+    private static final Logger log = LoggerUtil.getLogger(ShardCoordinator.class);
+
+    private static final Path SHARDS_DIR = Path.of("target", "shards");
+
+    public static void main(String[] args) throws IOException {
+        String suitePath = args.length > 0 ? args[0] : "testng.xml";
+        Config config = Config.getConfigInstance();
+        int shardCount = args.length > 1 ? Integer.parseInt(args[1]) : config.getShardCount();
+
+        Map<String, String> properties = new LinkedHashMap<>();
+        for (String key : new String[]{"env", "browser"}) {
+            if (System.getProperty(key) != null) {
+                properties.put(key, System.getProperty(key));
+            }
+        }
+        for (int i = 2; i < args.length; i++) {
+            if (args[i].startsWith("-D") && args[i].contains("=")) {
+                properties.put(args[i].substring(2, args[i].indexOf('=')), args[i].substring(args[i].indexOf('=') + 1));
+            }
+        }
+
+        System.exit(new ShardCoordinator().run(Path.of(suitePath), shardCount, properties, new LocalProcessLauncher()));
+    }
+
+    /**
+     * @return TestNG exit codes of all shards or'ed together, 0 when everything passed
+     */
+    public int run(Path suitePath, int shardCount, Map<String, String> properties, ShardLauncher launcher) throws IOException {
+        XmlSuite suite = new Parser(suitePath.toString()).parseToList().get(0);
+        List<String> classes = classesOf(suite);
+        List<Shard> shards = plan(suite, classes, Math.max(1, Math.min(shardCount, classes.size())), properties);
+
+        List<CompletableFuture<Integer>> runs = new ArrayList<>();
+        for (Shard shard : shards) {
+            log.info("Shard {}: {} class(es), ~{} s expected", shard.index(), shard.classes().size(), shard.expectedMillis() / 1000);
+            runs.add(launcher.launch(shard).exceptionally(e -> {
+                System.err.println("Err: Shard " + shard.index() + " could not run: " + e.getMessage());
+                return 1;
+            }));
+        }
+
+        int exitCode = 0;
+        for (int i = 0; i < runs.size(); i++) {
+            int shardExit = runs.get(i).join();
+            log.info("Shard {} finished with exit code {}, output in {}", i + 1, shardExit, shards.get(i).workDir().resolve("output.log"));
+            exitCode |= shardExit;
+        }
+
+        mergeReports(suite.getName(), shards);
+        return exitCode;
+    }
+
+    private List<Shard> plan(XmlSuite suite, List<String> classes, int shardCount, Map<String, String> properties) throws IOException {
+        // Unknown classes count as the average known one, like SuiteScheduler does for methods
+        Map<String, Long> durations = new LinkedHashMap<>();
+        long known = 0;
+        long total = 0;
+        for (String className : classes) {
+            long millis = TestHistory.classDuration(className);
+            durations.put(className, millis);
+            if (millis >= 0) {
+                known++;
+                total += millis;
+            }
+        }
+        long unknown = known == 0 ? 1 : total / known;
+        durations.replaceAll((className, millis) -> millis >= 0 ? millis : unknown);
+
+        List<List<String>> assigned = new ArrayList<>();
+        long[] loads = new long[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            assigned.add(new ArrayList<>());
+        }
+        classes.stream()
+                .sorted(Comparator.comparing(durations::get).reversed())
+                .forEach(className -> {
+                    int lightest = 0;
+                    for (int i = 1; i < shardCount; i++) {
+                        if (loads[i] < loads[lightest]) {
+                            lightest = i;
+                        }
+                    }
+                    assigned.get(lightest).add(className);
+                    loads[lightest] += durations.get(className);
+                });
+
+        // Every worker gets an equal share of the machine instead of sizing itself for all of it
+        String threadCount = Config.getConfigInstance().getThreadCount();
+        int threadsPerShard = threadCount.equalsIgnoreCase("auto")
+                ? Math.max(1, SuiteScheduler.autoThreadCount(Config.getConfigInstance().getBrowserMemoryMb()) / shardCount)
+                : Integer.parseInt(threadCount);
+        int slotsPerShard = Math.max(1, BrowserSlots.capacity() / shardCount);
+
+        List<Shard> shards = new ArrayList<>();
+        for (int i = 0; i < shardCount; i++) {
+            Path workDir = SHARDS_DIR.resolve("shard-" + (i + 1)).toAbsolutePath();
+            Files.createDirectories(workDir);
+
+            Path suiteFile = workDir.resolve("testng-shard.xml");
+            Files.writeString(suiteFile, shardSuite(suite, assigned.get(i), i + 1, threadsPerShard).toXml());
+
+            Map<String, String> shardProperties = new LinkedHashMap<>(properties);
+            shardProperties.put("reportMode", "stream");
+            shardProperties.put("threadCount", String.valueOf(threadsPerShard));
+            shardProperties.put("browserSlots", String.valueOf(slotsPerShard));
+            shardProperties.put("cacheDir", Path.of(Config.getConfigInstance().getCacheDir()).toAbsolutePath().toString());
+            shardProperties.putIfAbsent("prewarmPoolSize", String.valueOf(threadsPerShard));
+
+            shards.add(new Shard(i + 1, assigned.get(i), loads[i], suiteFile, workDir, shardProperties));
+        }
+        return shards;
+    }
+
+    /**
+     * The shard's classes in copies of the {@code <test>}s they came from, with those tests' parameters,
+     * groups, method selectors and the classes' own include/exclude lists and parameters.
+     */
+    private static XmlSuite shardSuite(XmlSuite suite, List<String> classes, int index, int threads) {
+        XmlSuite shardSuite = new XmlSuite();
+        shardSuite.setName(suite.getName());
+        shardSuite.setParallel(suite.getParallel());
+        // TestNG writes every <test> with an explicit thread count, set the shard's before they inherit it
+        shardSuite.setThreadCount(threads);
+        shardSuite.setListeners(suite.getListeners());
+        shardSuite.setParameters(suite.getParameters());
+
+        Set<String> shardClasses = new HashSet<>(classes);
+        for (XmlTest original : suite.getTests()) {
+            List<XmlClass> xmlClasses = new ArrayList<>();
+            for (XmlClass xmlClass : original.getXmlClasses()) {
+                if (shardClasses.contains(xmlClass.getName())) {
+                    xmlClasses.add(copyOf(xmlClass));
+                }
+            }
+            for (XmlPackage xmlPackage : original.getXmlPackages()) {
+                for (XmlClass xmlClass : xmlPackage.getXmlClasses()) {
+                    if (shardClasses.contains(xmlClass.getName())) {
+                        xmlClasses.add(new XmlClass(xmlClass.getName(), false));
+                    }
+                }
+            }
+            if (xmlClasses.isEmpty()) {
+                continue;
+            }
+
+            XmlTest test = new XmlTest(shardSuite);
+            test.setName(original.getName() + " - shard " + index);
+            test.setParameters(original.getLocalParameters());
+            test.setGroups(original.getXmlGroups());
+            test.setMethodSelectors(original.getMethodSelectors());
+            // Only overrides of the suite's, so the shard's own thread count applies otherwise
+            if (original.getParallel() != suite.getParallel()) {
+                test.setParallel(original.getParallel());
+            }
+            if (original.getThreadCount() != suite.getThreadCount()) {
+                test.setThreadCount(original.getThreadCount());
+            }
+            test.setPreserveOrder(original.getPreserveOrder());
+            if (original.getTimeOut() != null) {
+                test.setTimeOut(Long.parseLong(original.getTimeOut()));
+            }
+            test.setXmlClasses(xmlClasses);
+        }
+        return shardSuite;
+    }
+
+    private static XmlClass copyOf(XmlClass xmlClass) {
+        XmlClass copy = new XmlClass(xmlClass.getName(), false);
+        copy.setIncludedMethods(xmlClass.getIncludedMethods());
+        copy.setExcludedMethods(xmlClass.getExcludedMethods());
+        copy.setParameters(xmlClass.getLocalParameters());
+        return copy;
+    }
+
+    private static List<String> classesOf(XmlSuite suite) {
+        Set<String> classes = new LinkedHashSet<>();
+        for (XmlTest test : suite.getTests()) {
+            for (XmlClass xmlClass : test.getXmlClasses()) {
+                classes.add(xmlClass.getName());
+            }
+            for (XmlPackage xmlPackage : test.getXmlPackages()) {
+                for (XmlClass xmlClass : xmlPackage.getXmlClasses()) {
+                    classes.add(xmlClass.getName());
+                }
+            }
+        }
+        return new ArrayList<>(classes);
+    }
+
+    private static void mergeReports(String suiteName, List<Shard> shards) throws IOException {
+        List<Path> streams = new ArrayList<>();
+        for (Shard shard : shards) {
+            Path reports = shard.workDir().resolve("reports");
+            if (Files.isDirectory(reports)) {
+                try (Stream<Path> files = Files.list(reports)) {
+                    files.filter(file -> file.toString().endsWith(".jsonl")).sorted().forEach(streams::add);
+                }
+            }
+        }
+        if (streams.isEmpty()) {
+            System.err.println("Warn: No shard produced a report");
+            return;
+        }
+
+        String timestamp = new SimpleDateFormat("yyyy-MM-dd_HH-mm-ss").format(new Date());
+        Path merged = Path.of("reports", suiteName + "_" + timestamp + "_merged.html");
+        int tests = ReportMerger.merge(suiteName, streams, merged);
+        log.info("Merged {} test(s) of {} shard(s) into {}", tests, shards.size(), merged);
+    }
+}
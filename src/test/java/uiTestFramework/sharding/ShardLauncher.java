@@ -0,0 +1,12 @@
+package uiTestFramework.sharding;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Runs a shard somewhere and completes with the TestNG exit code of the run. Launchers for other
+ * hosts must leave the shard's {@code reports/} folder in {@link Shard#workDir()} once done.
+ */
+public interface ShardLauncher {
+
+    CompletableFuture<Integer> launch(Shard shard);
+}